@@ -0,0 +1,173 @@
+package com.solitairegame.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Tek bir işlemin verimini (işlem/s) ve bellek ayırma hızını ölçen küçük
+ * kıyaslama düzeneği; JMH'nin ısınma + ölçüm turları ve "gc" profilleyicisi
+ * düzeninde sonuç verir.
+ *
+ * İşlem, döndürdüğü değer bir alanda biriktirilerek ölü kod elemesinden
+ * korunur. Ayrılan bayt, ölçüm yapan iş parçacığının JVM sayacından okunur.
+ */
+public final class Benchmark {
+
+    /** Ölçülen işlem; dönen değer JIT'in işlemi silmesini önlemek için tüketilir. */
+    @FunctionalInterface
+    public interface Operation {
+        long run() throws Exception;
+    }
+
+    private static final long BATCH_NANOS = 1_000_000; // Tek nanoTime çağrısına düşen hedef süre
+
+    private final int warmupIterations;
+    private final int iterations;
+    private final long iterationNanos;
+    private long sink;
+
+    public Benchmark(int warmupIterations, int iterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+        this.iterationNanos = iterationMillis * 1_000_000;
+    }
+
+    public Result measure(String name, Operation operation) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // Isınma turlarında JIT derlenir ve bir grubun ~1 ms sürdüğü işlem sayısı bulunur
+        int batch = 1;
+        for (int i = 0; i < warmupIterations; i++) {
+            long end = System.nanoTime() + iterationNanos;
+            long now;
+            do {
+                long start = System.nanoTime();
+                runBatch(operation, batch);
+                now = System.nanoTime();
+                if (now - start < BATCH_NANOS && batch < (1 << 24)) {
+                    batch <<= 1;
+                }
+            } while (now < end);
+        }
+
+        double[] throughput = new double[iterations];
+        long totalOps = 0;
+        long totalNanos = 0;
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcMillis();
+        for (int i = 0; i < iterations; i++) {
+            long ops = 0;
+            long start = System.nanoTime();
+            long now;
+            do {
+                runBatch(operation, batch);
+                ops += batch;
+                now = System.nanoTime();
+            } while (now - start < iterationNanos);
+            throughput[i] = ops * 1e9 / (now - start);
+            totalOps += ops;
+            totalNanos += now - start;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Result(name, throughput, (double) allocated / totalOps, allocated * 1e9 / totalNanos,
+                gcCount() - gcCountBefore, gcMillis() - gcTimeBefore);
+    }
+
+    /**
+     * @return Tüketilen değerlerin toplamı; yalnızca ölü kod elemesini önlemek için tutulur.
+     */
+    public long getSink() {
+        return sink;
+    }
+
+    private void runBatch(Operation operation, int count) throws Exception {
+        long value = 0;
+        for (int i = 0; i < count; i++) {
+            value += operation.run();
+        }
+        sink += value;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : collectors()) {
+            total += Math.max(0, bean.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : collectors()) {
+            total += Math.max(0, bean.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static List<GarbageCollectorMXBean> collectors() {
+        return ManagementFactory.getGarbageCollectorMXBeans();
+    }
+
+    /**
+     * Bir kıyaslamanın sonucu; verim ölçüm turlarının ortalaması ve standart sapmasıdır.
+     */
+    public static final class Result {
+        private final String name;
+        private final double opsPerSecond;
+        private final double error;
+        private final double bytesPerOp;
+        private final double bytesPerSecond;
+        private final long gcCount;
+        private final long gcMillis;
+
+        Result(String name, double[] throughput, double bytesPerOp, double bytesPerSecond, long gcCount, long gcMillis) {
+            this.name = name;
+            double mean = 0;
+            for (double value : throughput) {
+                mean += value / throughput.length;
+            }
+            double variance = 0;
+            for (double value : throughput) {
+                variance += (value - mean) * (value - mean) / Math.max(1, throughput.length - 1);
+            }
+            this.opsPerSecond = mean;
+            this.error = Math.sqrt(variance);
+            this.bytesPerOp = bytesPerOp;
+            this.bytesPerSecond = bytesPerSecond;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getOpsPerSecond() {
+            return opsPerSecond;
+        }
+
+        /** gc.alloc.rate.norm karşılığı: işlem başına ayrılan bayt. */
+        public double getBytesPerOp() {
+            return bytesPerOp;
+        }
+
+        /** gc.alloc.rate karşılığı: saniyede ayrılan bayt. */
+        public double getBytesPerSecond() {
+            return bytesPerSecond;
+        }
+
+        public static String header() {
+            return String.format("%-28s %16s %12s %14s %10s %6s %7s",
+                    "Kıyaslama", "işlem/s", "± sapma", "B/işlem", "MB/s", "gc", "gc ms");
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-28s %,16.1f %,12.1f %,14.1f %,10.1f %6d %7d", name, opsPerSecond, error,
+                    bytesPerOp, bytesPerSecond / (1024 * 1024), gcCount, gcMillis);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.solitairegame.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Motor, hamle üretimi, çizim ve bulanıklaştırma sıcak yollarının kıyaslamalarını çalıştıran,
+ * arayüz açmadan çalışan giriş noktası. Her kıyaslama için verim ve bellek
+ * ayırma hızı (B/işlem, MB/s) ile ölçüm sırasındaki çöp toplama sayısı yazılır.
+ *
+ * Tahta kıyaslamaları görünmez bir {@code GameBoard} üzerinde çalışır; ekran
+ * olmayan ortamlarda -Djava.awt.headless=true ile de çalıştırılabilir.
+ *
+ * Kullanım: BenchmarkApp [ad filtresi] [ölçüm turu] [tur süresi ms] [ısınma turu]
+ *
+ * Kıyaslamalar oyundan ayrı {@code Solitaire.benchmark} modülündedir (kaynak kökü
+ * {@code benchmark/}); oyun modülüyle birlikte modül yolundan çalıştırılır:
+ * {@code java -p <modüller> -m Solitaire.benchmark/com.solitairegame.benchmark.BenchmarkApp}
+ */
+public class BenchmarkApp {
+
+    public static void main(String[] args) throws Exception {
+        String filter = args.length > 0 ? args[0] : "";
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long iterationMillis = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+        int warmupIterations = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+        Map<String, Benchmark.Operation> benchmarks = new LinkedHashMap<>();
+        new DeckBenchmarks().register(benchmarks);
+        new MoveGenBenchmarks().register(benchmarks);
+        new GameBoardBenchmarks().register(benchmarks);
+
+        Benchmark benchmark = new Benchmark(warmupIterations, iterations, iterationMillis);
+        List<Benchmark.Result> results = new ArrayList<>();
+        System.out.println(Benchmark.Result.header());
+        for (Map.Entry<String, Benchmark.Operation> entry : benchmarks.entrySet()) {
+            if (!entry.getKey().contains(filter)) {
+                continue;
+            }
+            Benchmark.Result result = benchmark.measure(entry.getKey(), entry.getValue());
+            results.add(result);
+            System.out.println(result);
+        }
+        if (results.isEmpty()) {
+            System.out.println("Filtreye uyan kıyaslama yok: " + filter + " " + benchmarks.keySet());
+        }
+        System.out.println("(sink " + benchmark.getSink() + ")");
+        System.exit(0); // Tahtanın Swing zamanlayıcıları JVM'i açık tutmasın
+    }
+}
@@ -0,0 +1,29 @@
+package com.solitairegame.benchmark;
+
+import com.solitairegame.model.Deck;
+
+import java.util.Map;
+
+/**
+ * Deste oluşturma ve karıştırma kıyaslamaları.
+ */
+final class DeckBenchmarks {
+
+    private final Deck deck = new Deck(1);
+    private long seed;
+
+    void register(Map<String, Benchmark.Operation> benchmarks) {
+        // Tohumdan yeni deste: her yeni oyunda ve tekrar doğrulamada çalışan yol
+        benchmarks.put("deck.newSeeded", () -> new Deck(seed++).dealCode());
+        // Var olan desteyi verilen tohumla yerinde yeniden karıştırma: toplu simülasyonun yolu
+        benchmarks.put("deck.reseeded", () -> {
+            deck.shuffle(seed++);
+            return deck.dealCode();
+        });
+        // Var olan desteyi yeni rastgele tohumla yerinde yeniden karıştırma
+        benchmarks.put("deck.shuffle", () -> {
+            deck.shuffle();
+            return deck.getSeed();
+        });
+    }
+}
@@ -0,0 +1,194 @@
+package com.solitairegame.benchmark;
+
+import com.solitairegame.model.Deck;
+import com.solitairegame.model.GameState;
+import com.solitairegame.model.MoveLog;
+import com.solitairegame.model.RandomSource;
+import com.solitairegame.model.SaveGame;
+import com.solitairegame.view.BlurPyramid;
+import com.solitairegame.view.GameBoard;
+import com.solitairegame.view.GameMain;
+
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Tahtanın çizim, bırakma doğrulaması ve menü bulanıklığı kıyaslamaları.
+ *
+ * Tahta, tohumdan dağıtılıp bir miktar oynanmış bir oyunun kayıt dosyasından
+ * açılır; böylece dağıtım animasyonu olmadan her çalıştırmada aynı durum ölçülür.
+ */
+final class GameBoardBenchmarks {
+
+    private static final long SEED = 1;
+    private static final int PLAYED_MOVES = 40;
+    private static final int DROP_GRID = 25; // Bırakma noktaları arasındaki piksel
+    private static final Rectangle DRAG_FRAME = new Rectangle(300, 250, 90, 110);
+    private static final int LARGE_ZOOM = 2; // Büyütülmüş pencerede tahtanın büyütmesi
+
+    private final GameBoard board;
+    private final GameBoard largeBoard; // Tam ekrana büyütülmüş pencere gibi iki kat boyutlu tahta
+    private final BufferedImage canvas;
+    private final BufferedImage largeCanvas;
+    private final BufferedImage boardImage;
+    private final BufferedImage overlay; // Menünün karartma görüntüsü gibi tahta boyutunda
+    private final BlurPyramid blur = new BlurPyramid(GameMain.BLUR_LEVELS);
+    private int[] drops; // Her bırakma için kaynak deste, başlangıç indeksi, x, y
+    private int nextDrop;
+
+    GameBoardBenchmarks() throws IOException, InterruptedException, InvocationTargetException {
+        Path directory = Files.createTempDirectory("solitaire-bench");
+        Path save = directory.resolve("bench.save");
+        writeSave(save);
+        System.setProperty("solitaire.saveFile", save.toString());
+        System.setProperty("solitaire.replayDir", directory.toString());
+        System.setProperty("solitaire.dealBank", directory.resolve("none.bank").toString());
+
+        GameBoard[] created = new GameBoard[2];
+        SwingUtilities.invokeAndWait(() -> {
+            created[0] = new GameBoard();
+            created[0].setSize(GameBoard.PREFERRED_WIDTH, GameBoard.PREFERRED_HEIGHT);
+            created[1] = new GameBoard();
+            created[1].setSize(GameBoard.PREFERRED_WIDTH * LARGE_ZOOM, GameBoard.PREFERRED_HEIGHT * LARGE_ZOOM);
+        });
+        board = created[0];
+        largeBoard = created[1];
+        Files.deleteIfExists(save);
+        Files.deleteIfExists(directory);
+
+        canvas = new BufferedImage(board.getWidth(), board.getHeight(), BufferedImage.TYPE_INT_RGB); // Ekran gibi opak
+        largeCanvas = new BufferedImage(largeBoard.getWidth(), largeBoard.getHeight(), BufferedImage.TYPE_INT_RGB);
+        boardImage = board.getBoardImage();
+        overlay = new BufferedImage(board.getWidth(), board.getHeight(), BufferedImage.TYPE_INT_RGB);
+        blur.update(boardImage);
+        collectDrops(board.getGameStateCopy());
+    }
+
+    void register(Map<String, Benchmark.Operation> benchmarks) {
+        // GameBoard.mouseReleased'in yaptığı hedef bulma ve kural kontrolü
+        benchmarks.put("board.dropMove", () -> {
+            int i = nextDrop;
+            nextDrop = (i + 4) % drops.length;
+            return board.dropMove(drops[i], drops[i + 1], drops[i + 2], drops[i + 3]);
+        });
+        // Ekran dışı tek bir tam kare: paint -> paintComponent
+        benchmarks.put("board.paint", () -> {
+            Graphics2D g2d = canvas.createGraphics();
+            try {
+                board.paint(g2d);
+            } finally {
+                g2d.dispose();
+            }
+            return canvas.getRGB(0, 0);
+        });
+        // Sürükleme sırasındaki tipik kare: yalnızca tek kartın eski ve yeni konumu kirli
+        benchmarks.put("board.paintDragFrame", () -> {
+            Graphics2D g2d = canvas.createGraphics();
+            try {
+                g2d.clipRect(DRAG_FRAME.x, DRAG_FRAME.y, DRAG_FRAME.width, DRAG_FRAME.height);
+                board.paint(g2d);
+            } finally {
+                g2d.dispose();
+            }
+            return canvas.getRGB(DRAG_FRAME.x, DRAG_FRAME.y);
+        });
+        // Aynı kare büyütülmüş pencerede: kirli alan dört kat, atlas iki kat ölçekte
+        benchmarks.put("board.paintDragFrameLarge", () -> {
+            Graphics2D g2d = largeCanvas.createGraphics();
+            try {
+                g2d.clipRect(DRAG_FRAME.x * LARGE_ZOOM, DRAG_FRAME.y * LARGE_ZOOM,
+                        DRAG_FRAME.width * LARGE_ZOOM, DRAG_FRAME.height * LARGE_ZOOM);
+                largeBoard.paint(g2d);
+            } finally {
+                g2d.dispose();
+            }
+            return largeCanvas.getRGB(DRAG_FRAME.x * LARGE_ZOOM, DRAG_FRAME.y * LARGE_ZOOM);
+        });
+        benchmarks.put("board.paintLarge", () -> {
+            Graphics2D g2d = largeCanvas.createGraphics();
+            try {
+                largeBoard.paint(g2d);
+            } finally {
+                g2d.dispose();
+            }
+            return largeCanvas.getRGB(0, 0);
+        });
+        benchmarks.put("board.getBoardImage", () -> board.getBoardImage().getRGB(0, 0));
+        // Menünün havuzdaki tamponla aldığı görüntü: yeni görüntü ayrılmaz
+        benchmarks.put("board.getBoardImagePooled", () -> board.getBoardImage(boardImage).getRGB(0, 0));
+        // Menünün arka planda yaptığı gibi saklanan zinciri yeniden hesaplama: bellek ayrılmaz
+        benchmarks.put("menu.blurUpdate", () -> {
+            blur.update(boardImage);
+            return boardImage.getRGB(0, 0);
+        });
+        // Karartma görüntüsünün yeniden kurulması: en bulanık seviye tahta boyutuna büyütülür
+        benchmarks.put("menu.blurPaint", () -> paintBlur(1));
+        // Belirme sırasındaki tek kare: komşu iki seviye harmanlanır
+        benchmarks.put("menu.blurPaintFade", () -> paintBlur(0.5));
+    }
+
+    private long paintBlur(double strength) {
+        Graphics2D g2d = overlay.createGraphics();
+        try {
+            blur.paint(g2d, overlay.getWidth(), overlay.getHeight(), strength);
+        } finally {
+            g2d.dispose();
+        }
+        return overlay.getRGB(0, 0);
+    }
+
+    /**
+     * Tohumdan dağıtılan oyunu rastgele geçerli hamlelerle biraz ilerletip kaydeder.
+     */
+    private static void writeSave(Path path) throws IOException {
+        GameState state = GameState.deal(new Deck(SEED));
+        MoveLog log = new MoveLog();
+        RandomSource random = RandomSource.seeded(SEED);
+        int[] moves = new int[GameState.MAX_MOVES];
+        for (int i = 0; i < PLAYED_MOVES; i++) {
+            int count = state.legalMoves(moves);
+            if (count == 0) {
+                break;
+            }
+            log.apply(state, moves[random.nextInt(count)]);
+        }
+        new SaveGame(state, SEED, 0, log).write(path);
+    }
+
+    /**
+     * Tahtada sürüklenebilecek her kart dizisini, tahtayı kaplayan bir ızgaranın
+     * her noktasına bırakır; hedefe denk gelen, gelmeyen, geçerli ve geçersiz
+     * bırakmalar birlikte ölçülür.
+     */
+    private void collectDrops(GameState state) {
+        int[] buffer = new int[256];
+        int n = 0;
+        for (int pile = GameState.WASTE; pile < GameState.PILE_COUNT; pile++) {
+            if (state.isEmpty(pile) || GameState.isFoundation(pile)) {
+                continue;
+            }
+            for (int start = state.runStart(pile); start < state.size(pile); start++) {
+                for (int y = 0; y < board.getHeight(); y += DROP_GRID) {
+                    for (int x = 0; x < board.getWidth(); x += DROP_GRID) {
+                        if (n + 4 > buffer.length) {
+                            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                        }
+                        buffer[n++] = pile;
+                        buffer[n++] = start;
+                        buffer[n++] = x;
+                        buffer[n++] = y;
+                    }
+                }
+            }
+        }
+        drops = Arrays.copyOf(buffer, n);
+    }
+}
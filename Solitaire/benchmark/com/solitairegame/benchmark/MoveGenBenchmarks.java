@@ -0,0 +1,101 @@
+package com.solitairegame.benchmark;
+
+import com.solitairegame.model.Deck;
+import com.solitairegame.model.GameState;
+import com.solitairegame.model.Move;
+import com.solitairegame.model.RandomSource;
+
+import java.util.Map;
+
+/**
+ * Geçerli hamle üretimi kıyaslamaları.
+ *
+ * Rastgele oyunlardan toplanan durumlar üzerinde {@link GameState#legalMoves(int[])}
+ * ile, her kaynak-hedef-kart sayısı üçlüsünü {@link GameState#isLegal(int)} ile
+ * deneyen düz tarama karşılaştırılır; işlem başına bir durum işlenir.
+ */
+final class MoveGenBenchmarks {
+
+    private static final int STATE_COUNT = 100_000;
+    private static final int MAX_PLAYED = 200; // Bir oyunda en fazla bu kadar hamleden sonra yeni dağıtım
+
+    private final GameState[] states;
+    private final int[] buffer = new int[GameState.MAX_MOVES];
+    private int nextIndexed;
+    private int nextScan;
+
+    MoveGenBenchmarks() {
+        states = sampleStates(STATE_COUNT, RandomSource.seeded(1));
+        // İki yol aynı hamleleri bulmuyorsa kıyaslama anlamsızdır
+        long indexed = 0;
+        long scanned = 0;
+        for (GameState state : states) {
+            indexed += state.legalMoves(buffer);
+            scanned += scanLegalMoves(state, buffer);
+        }
+        if (indexed != scanned) {
+            throw new IllegalStateException("Hamle sayıları tutmuyor: " + indexed + " != " + scanned);
+        }
+    }
+
+    void register(Map<String, Benchmark.Operation> benchmarks) {
+        // Desteler için tutulan özetlerden üretim: çözücünün ve otomatik oynatıcının yolu
+        benchmarks.put("moveGen.legalMoves", () -> {
+            GameState state = states[nextIndexed];
+            nextIndexed = (nextIndexed + 1) % states.length;
+            return state.legalMoves(buffer);
+        });
+        // Özetlerden önceki üretim biçimi, karşılaştırma için
+        benchmarks.put("moveGen.isLegalScan", () -> {
+            GameState state = states[nextScan];
+            nextScan = (nextScan + 1) % states.length;
+            return scanLegalMoves(state, buffer);
+        });
+    }
+
+    /**
+     * Rastgele hamlelerle oynanan oyunlardan oyunun her evresini kapsayan durumlar toplar.
+     */
+    private static GameState[] sampleStates(int count, RandomSource random) {
+        GameState[] states = new GameState[count];
+        int[] moves = new int[GameState.MAX_MOVES];
+        GameState state = GameState.deal(new Deck(random.nextLong()));
+        int played = 0;
+        for (int i = 0; i < count; i++) {
+            int n = state.legalMoves(moves);
+            if (n == 0 || played >= MAX_PLAYED) {
+                state = GameState.deal(new Deck(random.nextLong()));
+                played = 0;
+                n = state.legalMoves(moves);
+            }
+            states[i] = state.copy();
+            state.apply(moves[random.nextInt(n)]);
+            played++;
+        }
+        return states;
+    }
+
+    // Her kaynak, hedef ve kart sayısı tek tek denenir
+    private static int scanLegalMoves(GameState state, int[] out) {
+        int n = 0;
+        if (state.isLegal(Move.DRAW)) {
+            out[n++] = Move.DRAW;
+        } else if (state.isLegal(Move.RECYCLE)) {
+            out[n++] = Move.RECYCLE;
+        }
+        for (int from = GameState.WASTE; from < GameState.PILE_COUNT; from++) {
+            int maxCount = GameState.isTableau(from) ? state.size(from) : Math.min(1, state.size(from));
+            // Bir Ası boş hedefler arasında gezdirmek hamle sayılmaz
+            int firstTarget = GameState.isFoundation(from) ? GameState.TABLEAU : GameState.FOUNDATION;
+            for (int count = 1; count <= maxCount; count++) {
+                for (int to = firstTarget; to < GameState.PILE_COUNT; to++) {
+                    int move = Move.of(from, to, count);
+                    if (state.isLegal(move)) {
+                        out[n++] = move;
+                    }
+                }
+            }
+        }
+        return n;
+    }
+}
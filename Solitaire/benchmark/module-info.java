@@ -0,0 +1,9 @@
+/**
+ * Oyunun kıyaslama düzeneği. Oyun modülünden ayrı tutulur; iş parçacığı
+ * başına bellek ayırma sayacı için gereken jdk.management yalnızca burada istenir.
+ */
+module Solitaire.benchmark {
+	requires Solitaire;
+	requires java.desktop;
+	requires jdk.management;
+}
\ No newline at end of file
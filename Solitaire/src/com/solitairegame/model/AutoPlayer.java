@@ -0,0 +1,226 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/AutoPlayer.java
+
+/**
+ * Bir dağıtımı verilen otomatik politikayla sonuna kadar oynayan oyuncu.
+ *
+ * Tüm tamponlar ve durum nesneleri örnek başına bir kez ayrılır ve her oyunda
+ * yeniden kullanılır; nesne iş parçacığı güvenli değildir, toplu simülasyonda
+ * her iş parçacığı kendi örneğini kullanmalıdır. Aynı tohum ve politika her
+ * zaman aynı oyunu verir.
+ */
+public final class AutoPlayer {
+
+    public enum Policy {
+        /** Geçerli hamlelerden rastgele biri. */
+        RANDOM,
+        /** Önce hedef, sonra kapalı kart açan hamleler; geri kalanı stok. */
+        GREEDY,
+        /**
+         * Greedy'nin anlamlı bulduğu hamleleri iki hamle ileriye bakarak puanlar;
+         * sonradan tableau'da gerekebilecek kartları hedefe göndermeyi erteler.
+         */
+        LOOKAHEAD
+    }
+
+    /** Kısır döngüye giren oyunları kesmek için oyun başına hamle sınırı. */
+    public static final int MAX_GAME_MOVES = 1000;
+
+    // Güvenli olmayan hedef hamleleri, atık ve kart açan hamlelerin altına iner
+    private static final int UNSAFE_FOUNDATION_PRIORITY = 40;
+
+    private final Policy policy;
+    private final Deck deck = new Deck();
+    private final GameState state = new GameState();
+    private final GameState probe = new GameState();
+    private final GameState followUp = new GameState();
+    private final int[] moves = new int[GameState.MAX_MOVES];
+    private final int[] probeMoves = new int[GameState.MAX_MOVES];
+    private RandomSource random;
+    private int moveCount;
+
+    public AutoPlayer(Policy policy) {
+        this.policy = policy;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Tohumdan dağıtılan oyunu oynar.
+     *
+     * @param random Rastgele politikanın kaynağı; diğer politikalar kullanmaz.
+     * @return Oyun kazanıldıysa true.
+     */
+    public boolean play(long seed, RandomSource random) {
+        this.random = random;
+        deck.shuffle(seed);
+        state.dealFrom(deck);
+        moveCount = 0;
+        int stockRun = 0; // Araya başka hamle girmeden art arda yapılan stok hamleleri
+        while (!state.isWon() && moveCount < MAX_GAME_MOVES) {
+            int move = chooseMove();
+            if (move == Move.NONE) {
+                break;
+            }
+            if (move == Move.DRAW || move == Move.RECYCLE) {
+                // Stokta bir tam tur başka hamle çıkmadan döndüyse oyun ilerleyemez
+                if (++stockRun > state.size(GameState.STOCK) + state.size(GameState.WASTE) + 1
+                        && policy != Policy.RANDOM) {
+                    break;
+                }
+            } else {
+                stockRun = 0;
+            }
+            state.apply(move);
+            moveCount++;
+        }
+        return state.isWon();
+    }
+
+    /**
+     * @return Son oyunda yapılan hamle sayısı.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    private int chooseMove() {
+        int count = state.legalMoves(moves);
+        if (count == 0) {
+            return Move.NONE;
+        }
+        switch (policy) {
+            case RANDOM:
+                return moves[random.nextInt(count)];
+            case GREEDY:
+                return bestByPriority(state, moves, count);
+            default:
+                return bestByLookahead(count);
+        }
+    }
+
+    private static int bestByPriority(GameState state, int[] moves, int count) {
+        int best = Move.NONE;
+        int bestPriority = -1;
+        for (int i = 0; i < count; i++) {
+            int priority = priority(state, moves[i]);
+            if (priority > bestPriority) {
+                bestPriority = priority;
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+
+    private int bestByLookahead(int count) {
+        int best = Move.NONE;
+        int bestValue = Integer.MIN_VALUE;
+        int bestPriority = -1;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int priority = priority(state, move);
+            if (priority < 0) {
+                continue;
+            }
+            if (GameState.isFoundation(Move.to(move)) && !isSafeForFoundation(state, state.top(Move.from(move)))) {
+                priority = UNSAFE_FOUNDATION_PRIORITY;
+            }
+            probe.copyFrom(state);
+            probe.apply(move);
+            // İki hamle sonraki puan baskın, öncelik eşitlikleri ve küçük farkları belirler
+            int value = 4 * Math.max(evaluate(probe), bestFollowUp(probe)) + priority;
+            if (value > bestValue || (value == bestValue && priority > bestPriority)) {
+                best = move;
+                bestValue = value;
+                bestPriority = priority;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return Durumdan yapılabilecek anlamlı hamlelerden sonra ulaşılan en iyi puan.
+     */
+    private int bestFollowUp(GameState from) {
+        int count = from.legalMoves(probeMoves);
+        int best = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int move = probeMoves[i];
+            if (move == Move.DRAW || move == Move.RECYCLE || priority(from, move) < 0) {
+                continue;
+            }
+            followUp.copyFrom(from);
+            followUp.apply(move);
+            best = Math.max(best, evaluate(followUp));
+        }
+        return best;
+    }
+
+    /**
+     * Kart, üzerine konabilecek karşı renk kartların hepsi hedefe ulaşmışsa
+     * tableau'da artık işe yaramaz ve hedefe gönderilmesi güvenlidir.
+     */
+    private static boolean isSafeForFoundation(GameState state, int card) {
+        int rank = Card.rank(card);
+        if (rank <= 1) {
+            return true;
+        }
+        if (Card.isRed(card)) {
+            return state.foundationNeed(Card.Suit.CLUBS.ordinal()) >= rank
+                    && state.foundationNeed(Card.Suit.SPADES.ordinal()) >= rank;
+        }
+        return state.foundationNeed(Card.Suit.DIAMONDS.ordinal()) >= rank
+                && state.foundationNeed(Card.Suit.HEARTS.ordinal()) >= rank;
+    }
+
+    /**
+     * Durum puanı: hedefteki kartlar ödüllendirilir, kapalı kartlar cezalandırılır.
+     */
+    private static int evaluate(GameState state) {
+        int foundation = 0;
+        for (int f = GameState.FOUNDATION; f < GameState.FOUNDATION + GameState.FOUNDATION_COUNT; f++) {
+            foundation += state.size(f);
+        }
+        int empty = 0;
+        for (int t = GameState.TABLEAU; t < GameState.PILE_COUNT; t++) {
+            if (state.isEmpty(t)) {
+                empty++;
+            }
+        }
+        return 10 * foundation - 5 * state.hiddenCount() + 2 * empty - state.size(GameState.WASTE);
+    }
+
+    /**
+     * Hamlenin önceliği; -1 hamlenin ilerleme sağlamadığı ve oynanmaması gerektiği
+     * anlamına gelir. Bu yüzden Greedy ve Lookahead kart gidip gelen döngülere girmez.
+     */
+    private static int priority(GameState state, int move) {
+        if (move == Move.DRAW || move == Move.RECYCLE) {
+            return 1;
+        }
+        int from = Move.from(move);
+        int to = Move.to(move);
+        if (GameState.isFoundation(from)) {
+            return -1;
+        }
+        int start = state.size(from) - Move.count(move);
+        boolean exposesHidden = GameState.isTableau(from) && start > 0 && !state.isFaceUp(from, start - 1);
+        if (GameState.isFoundation(to)) {
+            return exposesHidden ? 120 : 100;
+        }
+        if (from == GameState.WASTE) {
+            return 50;
+        }
+        if (exposesHidden) {
+            return 80 + start;
+        }
+        if (start == 0) {
+            return state.isEmpty(to) ? -1 : 60; // Bir sütunu boşaltmak işe yarar, Papazı sütunlar arasında gezdirmek yaramaz
+        }
+        // Açık dizinin ortasından taşımak yalnızca alttaki kartı hedefe göndermek için
+        return state.foundationTarget(state.card(from, start - 1)) >= 0 ? 30 : -1;
+    }
+}
@@ -1,6 +1,12 @@
 package com.solitairegame.model; // Paket adınızla eşleştiğinden emin olun
 
-public class Card {
+/**
+ * Kartlar motorda tek bir byte olarak tutulur: suit * 13 + rank, açık kartlarda
+ * ek olarak {@link #FACE_UP} biti. Bu sınıf yalnızca görünüm katmanının kullandığı,
+ * 52 elemanlı tablodan dönen değişmez (flyweight) nesnedir; kodlar üzerindeki
+ * hızlı sorgular statik yardımcı metotlarla yapılır.
+ */
+public final class Card {
     public enum Suit {
         CLUBS, DIAMONDS, HEARTS, SPADES
     }
@@ -10,14 +16,72 @@ public class Card {
         EIGHT, NINE, TEN, JACK, QUEEN, KING
     }
 
+    public static final int COUNT = 52;
+    public static final int FACE_UP = 0x40;
+    public static final int CODE_MASK = 0x3F;
+
+    /** Boş deste veya kart yok anlamındaki kod. */
+    public static final int NONE = -1;
+
+    public static final int ACE = 0;
+    public static final int KING = 12;
+
+    private static final Card[] CARDS = new Card[COUNT];
+
+    // Açık bit dahil tüm kodlar için (0..127) maske gerektirmeyen arama tabloları
+    private static final byte[] RANK_OF = new byte[128];
+    private static final byte[] SUIT_OF = new byte[128];
+    private static final boolean[] RED = new boolean[128];
+
+    static {
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                int code = suit.ordinal() * 13 + rank.ordinal();
+                CARDS[code] = new Card(suit, rank, code);
+                for (int bits : new int[] { code, code | FACE_UP }) {
+                    RANK_OF[bits] = (byte) rank.ordinal();
+                    SUIT_OF[bits] = (byte) suit.ordinal();
+                    RED[bits] = suit == Suit.HEARTS || suit == Suit.DIAMONDS;
+                }
+            }
+        }
+    }
+
     private final Suit suit;
     private final Rank rank;
-    private boolean faceUp;
+    private final int code;
 
-    public Card(Suit suit, Rank rank) {
+    private Card(Suit suit, Rank rank, int code) {
         this.suit = suit;
         this.rank = rank;
-        this.faceUp = false; // Varsayılan olarak kapalı başlasın
+        this.code = code;
+    }
+
+    /**
+     * @param code Kart kodu; açık biti yok sayılır.
+     */
+    public static Card of(int code) {
+        return CARDS[code & CODE_MASK];
+    }
+
+    public static Card of(Suit suit, Rank rank) {
+        return CARDS[suit.ordinal() * 13 + rank.ordinal()];
+    }
+
+    public static int rank(int code) {
+        return RANK_OF[code];
+    }
+
+    public static int suit(int code) {
+        return SUIT_OF[code];
+    }
+
+    public static boolean isRed(int code) {
+        return RED[code];
+    }
+
+    public static boolean isFaceUp(int code) {
+        return (code & FACE_UP) != 0;
     }
 
     public Suit getSuit() {
@@ -28,16 +92,19 @@ public class Card {
         return rank;
     }
 
-    public boolean isFaceUp() {
-        return faceUp;
+    public boolean isRed() {
+        return RED[code];
     }
 
-    public void setFaceUp(boolean faceUp) {
-        this.faceUp = faceUp;
+    /**
+     * @return Açık biti olmadan kartın kodu (0..51).
+     */
+    public int code() {
+        return code;
     }
 
     @Override
     public String toString() {
-        return rank + " of " + suit + (faceUp ? " (Up)" : " (Down)");
+        return rank + " of " + suit;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/ConcurrentTranspositionTable.java
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Paralel çözücünün tüm iş parçacıklarınca paylaşılan transpozisyon tablosu.
+ *
+ * Ana dizi sabit boyutludur ve kilitsiz doldurulur. Bir özetin yuva zinciri
+ * dolmuşsa özet, kilitle korunan ve gerektikçe büyüyen taşma tablosuna yazılır.
+ * Yuvalar yalnızca boştan doluya geçtiği için aynı özet her iş parçacığında
+ * aynı yere düşer; hiçbir durum iki kez yeni sayılmaz. Tablo bu yüzden aramanın
+ * döngü denetimi için de güvenilirdir: dolması yalnızca yavaşlatır.
+ */
+final class ConcurrentTranspositionTable implements StateTable {
+
+    private static final int MAX_PROBES = 64;
+
+    private final AtomicLongArray keys;
+    private final int mask;
+    private final TranspositionTable overflow = new TranspositionTable(1 << 10);
+
+    ConcurrentTranspositionTable(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity - 1)) << 1;
+        keys = new AtomicLongArray(size);
+        mask = size - 1;
+    }
+
+    @Override
+    public boolean add(long hash) {
+        long key = hash == 0 ? 1 : hash; // 0 boş yuva anlamına gelir
+        int index = (int) (key ^ (key >>> 32)) & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            long existing = keys.get(index);
+            if (existing == 0) {
+                if (keys.compareAndSet(index, 0, key)) {
+                    return true;
+                }
+                existing = keys.get(index); // Başka bir iş parçacığı aynı yuvayı doldurdu
+            }
+            if (existing == key) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        synchronized (overflow) {
+            return overflow.add(key);
+        }
+    }
+
+    @Override
+    public long memoryBytes() {
+        synchronized (overflow) {
+            return (long) keys.length() * Long.BYTES + overflow.memoryBytes();
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < keys.length(); i++) {
+            keys.set(i, 0);
+        }
+        synchronized (overflow) {
+            overflow.clear();
+        }
+    }
+}
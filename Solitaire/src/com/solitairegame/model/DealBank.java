@@ -0,0 +1,248 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/DealBank.java
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Çözücüyle kazanılabilir olduğu doğrulanmış dağıtımların tohum bankası.
+ *
+ * Dosya düzeni (little-endian):
+ * <pre>
+ * başlık (32 byte): magic "SDB1" | sürüm (short) | kayıt boyutu (short) | ayrılmış
+ * kayıt  (16 byte): tohum (long) | genişletilen düğüm (int) | çözüm uzunluğu (short) | ayrılmış (short)
+ * </pre>
+ * Kayıt sayısı dosya boyutundan çıkarılır; bu yüzden yeni kayıtlar yalnızca
+ * dosyanın sonuna eklenir. Tohumlar artan sırada tutulur, böylece tohumla arama
+ * eşlenmiş dosya üzerinde ikili aramadır ve hiçbir kayıt yığına yüklenmez.
+ */
+public final class DealBank implements Closeable {
+
+    public static final int MAGIC = 0x31424453; // "SDB1"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int size;
+
+    private DealBank(FileChannel channel, MappedByteBuffer buffer, int size) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    /**
+     * Banka dosyasını salt okunur olarak belleğe eşler.
+     */
+    public static DealBank open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            if (length < HEADER_SIZE) {
+                throw new IOException("Dağıtım bankası başlığı eksik: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            checkHeader(buffer, path);
+            int size = (int) ((length - HEADER_SIZE) / RECORD_SIZE); // Yarım kalmış son kayıt yok sayılır
+            return new DealBank(channel, buffer, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Oyunun ve üreticinin varsayılan banka dosyası: "solitaire.dealBank" sistem
+     * özelliği, yoksa kayıt dosyası gibi kullanıcı dizini. Çalışma dizinine
+     * bağlı olmadığından oyun nereden başlatılırsa başlatılsın aynı dosya bulunur.
+     */
+    public static Path defaultPath() {
+        String path = System.getProperty("solitaire.dealBank");
+        return path != null ? Paths.get(path) : Paths.get(System.getProperty("user.home"), ".solitaire-deals.bank");
+    }
+
+    /**
+     * Dosya yoksa null döner; banka isteğe bağlıdır.
+     */
+    public static DealBank openIfExists(Path path) throws IOException {
+        return Files.isRegularFile(path) ? open(path) : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long seedAt(int index) {
+        return buffer.getLong(offset(index));
+    }
+
+    public int nodesAt(int index) {
+        return buffer.getInt(offset(index) + 8);
+    }
+
+    public int solutionLengthAt(int index) {
+        return buffer.getShort(offset(index) + 12) & 0xFFFF;
+    }
+
+    /**
+     * @param random Herhangi bir 64 bitlik rastgele değer.
+     * @return Bankadan O(1) sürede seçilen bir tohum.
+     */
+    public long randomSeed(long random) {
+        if (size == 0) {
+            throw new IllegalStateException("Dağıtım bankası boş.");
+        }
+        return seedAt((int) Math.floorMod(random, (long) size));
+    }
+
+    /**
+     * @return Tohumun kayıt indeksi veya bankada yoksa -1.
+     */
+    public int indexOf(long seed) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = seedAt(mid);
+            if (value < seed) {
+                low = mid + 1;
+            } else if (value > seed) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(long seed) {
+        return indexOf(seed) >= 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int offset(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private static void checkHeader(ByteBuffer buffer, Path path) throws IOException {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Dağıtım bankası değil: " + path);
+        }
+        if (buffer.getShort(4) != VERSION || buffer.getShort(6) != RECORD_SIZE) {
+            throw new IOException("Desteklenmeyen dağıtım bankası sürümü: " + path);
+        }
+    }
+
+    /**
+     * Bankaya yeni kayıtları dosyanın sonuna ekleyen yazıcı. Dosya yoksa başlığıyla
+     * oluşturulur. Tohumlar dosyadaki son tohumdan büyük ve artan sırada olmalıdır.
+     */
+    public static final class Writer implements Closeable {
+        private static final int BATCH_RECORDS = 4096;
+
+        private final FileChannel channel;
+        private final ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private long lastSeed;
+        private boolean hasLastSeed;
+        private long written;
+
+        public Writer(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                long length = channel.size();
+                if (length < HEADER_SIZE) {
+                    writeHeader();
+                } else {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                    channel.read(header, 0);
+                    checkHeader(header, path);
+                    // Yarım kalmış bir kayıt varsa üzerine yazılır
+                    long records = (length - HEADER_SIZE) / RECORD_SIZE;
+                    channel.truncate(HEADER_SIZE + records * RECORD_SIZE);
+                    if (records > 0) {
+                        ByteBuffer last = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                        channel.read(last, HEADER_SIZE + (records - 1) * RECORD_SIZE);
+                        lastSeed = last.getLong(0);
+                        hasLastSeed = true;
+                    }
+                }
+                channel.position(channel.size());
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Bir sonraki eklenecek tohumun alt sınırı; yeni toplu üretimler buradan başlamalıdır.
+         */
+        public long nextSeed() {
+            return hasLastSeed ? lastSeed + 1 : 0;
+        }
+
+        public void append(long seed, long nodes, int solutionLength) throws IOException {
+            if (hasLastSeed && seed <= lastSeed) {
+                throw new IllegalArgumentException("Tohumlar artan sırada eklenmeli: " + seed + " <= " + lastSeed);
+            }
+            if (!batch.hasRemaining()) {
+                flush();
+            }
+            batch.putLong(seed);
+            batch.putInt((int) Math.min(Integer.MAX_VALUE, nodes));
+            batch.putShort((short) Math.min(0xFFFF, solutionLength));
+            batch.putShort((short) 0);
+            lastSeed = seed;
+            hasLastSeed = true;
+            written++;
+        }
+
+        public long getWritten() {
+            return written;
+        }
+
+        public void flush() throws IOException {
+            batch.flip();
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            batch.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void writeHeader() throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE);
+            header.clear();
+            channel.write(header, 0);
+        }
+    }
+}
@@ -2,39 +2,96 @@ package com.solitairegame.model;
 
 //com.solitairegame.model/Deck.java
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Deck {
- private List<Card> cards;
+ private final byte[] cards = new byte[Card.COUNT]; // Kart kodları; cursor'dan öncekiler dağıtılmıştır
+ private int cursor;
+ private long seed; // Bu sırayı üreten tohum (sıralı deste için 0)
+ private RandomSource.Reseedable random; // shuffle(long) için; ilk kullanımda ayrılır
 
  public Deck() {
-     cards = new ArrayList<>();
-     // 52 standart iskambil kartını oluştur
-     for (Card.Suit suit : Card.Suit.values()) {
-         for (Card.Rank rank : Card.Rank.values()) {
-             cards.add(new Card(suit, rank));
-         }
-     }
+     reset();
+ }
+
+ /**
+  * Tohumdan yeniden üretilebilir şekilde karıştırılmış deste oluşturur.
+  * Karıştırma sondan başa Fisher-Yates'tir ve {@link RandomSource#seeded(long)} kullanır;
+  * dağıtım bankası dosyaları bu tanıma dayandığı için sıra değiştirilmemelidir.
+  */
+ public Deck(long seed) {
+     this();
+     this.seed = seed;
+     shuffle(RandomSource.seeded(seed));
  }
 
+ /**
+  * Desteyi rastgele bir tohumla yeniden karıştırır; yeni tohum {@link #getSeed()} ile okunabilir.
+  */
  public void shuffle() {
-     Collections.shuffle(cards);
+     shuffle(ThreadLocalRandom.current().nextLong());
  }
 
- public Card dealCard() {
-     if (cards.isEmpty()) {
-         return null; // Deste boşsa kart yok
+ /**
+  * Desteyi toplayıp tohumla yeniden karıştırır; sıra {@link #Deck(long)} ile aynıdır.
+  * Üreteç destede tutulup yeniden tohumlandığı için oyun başına nesne ayrılmaz.
+  */
+ public void shuffle(long seed) {
+     if (random == null) {
+         random = new RandomSource.Reseedable(seed);
+     } else {
+         random.reseed(seed);
+     }
+     this.seed = seed;
+     reset();
+     shuffle(random);
+ }
+
+ /**
+  * Dağıtılmamış kartları verilen kaynakla karıştırır. Dışarıdan verilen kaynağın
+  * tohumu bilinmediği için {@link #getSeed()} bu sırayı tanımlamaz.
+  */
+ public void shuffle(RandomSource random) {
+     for (int i = Card.COUNT - 1; i > cursor; i--) {
+         int j = cursor + random.nextInt(i - cursor + 1);
+         byte tmp = cards[i];
+         cards[i] = cards[j];
+         cards[j] = tmp;
+     }
+ }
+
+ public long getSeed() {
+     return seed;
+ }
+
+ /**
+  * @return Sıradaki kartın kodu veya deste boşsa {@link Card#NONE}.
+  */
+ public int dealCode() {
+     if (cursor == Card.COUNT) {
+         return Card.NONE; // Deste boşsa kart yok
      }
-     return cards.remove(0); // Desteden en üstteki kartı ver
+     return cards[cursor++]; // Desteden en üstteki kartı ver
+ }
+
+ public Card dealCard() {
+     int code = dealCode();
+     return code == Card.NONE ? null : Card.of(code);
  }
 
  public int size() {
-     return cards.size();
+     return Card.COUNT - cursor;
  }
 
  public boolean isEmpty() {
-     return cards.isEmpty();
+     return cursor == Card.COUNT;
+ }
+
+ // 52 standart iskambil kartını kod sırasıyla dizer (renk * 13 + değer)
+ private void reset() {
+     for (int code = 0; code < Card.COUNT; code++) {
+         cards[code] = (byte) code;
+     }
+     cursor = 0;
  }
-}
\ No newline at end of file
+}
@@ -0,0 +1,675 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/GameState.java
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Klondike oyununun Swing'den bağımsız kural motoru.
+ *
+ * Tüm desteler sabit indekslerle adreslenir: stok, atık, 4 hedef (foundation)
+ * ve 7 oyun alanı (tableau) destesi. Hamleler {@link Move} ile int olarak
+ * kodlanır. Sınıf AWT'ye hiç dokunmaz; toplu analiz ve otomatik oyun için
+ * doğrudan kullanılabilir.
+ *
+ * Durumun tamamı tek bir byte dizisindedir: ilk {@link #PILE_COUNT} byte deste
+ * boyutları, ardından her deste için sabit kapasiteli bir bölge gelir. Kartlar
+ * {@link Card} kodlarıdır; bu sayede kopyalama tek bir System.arraycopy'dir.
+ *
+ * Destelerden sonra her hamlede O(1) güncellenen özetler tutulur: her tableau
+ * destesindeki açık dizinin başladığı indeks ve her rengin hangi hedef
+ * destesinde toplandığı ve kapalı kart sayısı. Geçerli hamle listesi bu özetlerle kart sayısından
+ * bağımsız, deste sayısıyla orantılı sürede üretilir.
+ */
+public class GameState {
+
+    public static final int STOCK = 0;
+    public static final int WASTE = 1;
+    public static final int FOUNDATION = 2;
+    public static final int TABLEAU = 6;
+
+    public static final int FOUNDATION_COUNT = 4;
+    public static final int TABLEAU_COUNT = 7;
+    public static final int PILE_COUNT = TABLEAU + TABLEAU_COUNT;
+
+    /** Herhangi bir durumda aynı anda geçerli olabilecek en fazla hamle sayısı. */
+    public static final int MAX_MOVES = 128;
+
+    // Stok/atık en fazla 24, hedef 13, tableau en fazla 6 kapalı + 13 açık kart tutar
+    private static final int[] CAPACITY = { 24, 24, 13, 13, 13, 13, 19, 19, 19, 19, 19, 19, 19 };
+    private static final int[] BASE = new int[PILE_COUNT];
+
+    // Özet bölgeleri: tableau başına açık dizinin başı, renk başına hedef destesi (0 = yok),
+    // tableau'daki toplam kapalı kart sayısı
+    private static final int RUN_START;
+    private static final int SUIT_FOUNDATION;
+    private static final int HIDDEN;
+
+    /** Tüm durumun byte cinsinden boyutu. */
+    public static final int STATE_SIZE;
+
+    static {
+        int offset = PILE_COUNT;
+        for (int p = 0; p < PILE_COUNT; p++) {
+            BASE[p] = offset;
+            offset += CAPACITY[p];
+        }
+        RUN_START = offset - TABLEAU;
+        offset += TABLEAU_COUNT;
+        SUIT_FOUNDATION = offset;
+        offset += Card.Suit.values().length;
+        HIDDEN = offset++;
+        STATE_SIZE = offset;
+    }
+
+    private final byte[] data;
+
+    public GameState() {
+        data = new byte[STATE_SIZE];
+    }
+
+    private GameState(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Desteden standart Klondike dağıtımı yapar: i. tableau destesine i+1 kart,
+     * en üstteki açık; kalan 24 kart stoğa kapalı olarak konur.
+     */
+    public static GameState deal(Deck deck) {
+        GameState state = new GameState();
+        state.dealFrom(deck);
+        return state;
+    }
+
+    /**
+     * {@link #deal(Deck)} ile aynı dağıtımı yeni nesne oluşturmadan bu nesneye
+     * yapar; önceki içerik silinir.
+     */
+    public void dealFrom(Deck deck) {
+        Arrays.fill(data, (byte) 0);
+        for (int i = 0; i < TABLEAU_COUNT; i++) {
+            for (int j = 0; j <= i; j++) {
+                int code = deck.dealCode();
+                push(TABLEAU + i, j == i ? code | Card.FACE_UP : code);
+            }
+            data[RUN_START + TABLEAU + i] = (byte) i;
+            data[HIDDEN] += (byte) i;
+        }
+        // Stoğun en üstü bölgenin sonunda durur; desteden sıradaki kart en üstte olmalı
+        int remaining = deck.size();
+        data[STOCK] = (byte) remaining;
+        for (int i = remaining - 1; i >= 0; i--) {
+            data[BASE[STOCK] + i] = (byte) deck.dealCode();
+        }
+    }
+
+    /**
+     * Kayıt dosyası için: durumun ham byte'larını tampona yazar.
+     */
+    void writeTo(ByteBuffer buffer) {
+        buffer.put(data);
+    }
+
+    /**
+     * Kayıt dosyasından okunan ham byte'lardan durumu kurar.
+     */
+    static GameState readFrom(ByteBuffer buffer) {
+        byte[] data = new byte[STATE_SIZE];
+        buffer.get(data);
+        return new GameState(data);
+    }
+
+    /**
+     * Dışarıdan okunan bir durumun tutarlılığını denetler: deste boyutları
+     * kapasiteler içinde, 52 kartın her biri tam bir kez bulunuyor ve kartların
+     * yüzleri ile özetler destelerle uyuşuyor.
+     */
+    boolean isConsistent() {
+        long seen = 0;
+        int total = 0;
+        for (int p = 0; p < PILE_COUNT; p++) {
+            int size = data[p];
+            if (size < 0 || size > CAPACITY[p]) {
+                return false;
+            }
+            for (int i = BASE[p], end = i + size; i < end; i++) {
+                int code = data[i] & Card.CODE_MASK;
+                if (code >= Card.COUNT || (seen & (1L << code)) != 0) {
+                    return false;
+                }
+                seen |= 1L << code;
+            }
+            total += size;
+        }
+        return total == Card.COUNT && summariesMatch();
+    }
+
+    /**
+     * Özetleri destelerden yeniden hesaplayıp kayıtlı değerlerle karşılaştırır;
+     * hamle üretimi ve geri alma bu değerlere güvenir.
+     */
+    private boolean summariesMatch() {
+        for (int i = BASE[STOCK], end = i + data[STOCK]; i < end; i++) {
+            if (Card.isFaceUp(data[i])) {
+                return false;
+            }
+        }
+        for (int i = BASE[WASTE], end = i + data[WASTE]; i < end; i++) {
+            if (!Card.isFaceUp(data[i])) {
+                return false;
+            }
+        }
+
+        // Hedefte tek renk, As'tan başlayarak sırayla; renk de o desteyi göstermeli
+        int[] suitPile = new int[Card.Suit.values().length];
+        for (int f = FOUNDATION; f < FOUNDATION + FOUNDATION_COUNT; f++) {
+            int base = BASE[f];
+            for (int i = 0; i < data[f]; i++) {
+                int card = data[base + i];
+                if (!Card.isFaceUp(card) || Card.rank(card) != i || Card.suit(card) != Card.suit(data[base])) {
+                    return false;
+                }
+            }
+            if (data[f] > 0) {
+                suitPile[Card.suit(data[base])] = f;
+            }
+        }
+        for (int suit = 0; suit < suitPile.length; suit++) {
+            if (data[SUIT_FOUNDATION + suit] != suitPile[suit]) {
+                return false;
+            }
+        }
+
+        // Tableau'da önce kapalı kartlar, sonra geçerli sırada açık dizi
+        int hidden = 0;
+        for (int p = TABLEAU; p < PILE_COUNT; p++) {
+            int size = data[p];
+            if (size == 0) {
+                continue; // Boş destenin dizi başı kullanılmaz
+            }
+            int base = BASE[p];
+            int runStart = 0;
+            while (runStart < size && !Card.isFaceUp(data[base + runStart])) {
+                runStart++;
+            }
+            if (runStart == size || data[RUN_START + p] != runStart) {
+                return false;
+            }
+            for (int i = runStart + 1; i < size; i++) {
+                int card = data[base + i];
+                int below = data[base + i - 1];
+                if (!Card.isFaceUp(card) || Card.isRed(card) == Card.isRed(below)
+                        || Card.rank(card) + 1 != Card.rank(below)) {
+                    return false;
+                }
+            }
+            hidden += runStart;
+        }
+        return data[HIDDEN] == hidden;
+    }
+
+    public GameState copy() {
+        return new GameState(data.clone());
+    }
+
+    /**
+     * Başka bir durumu yeni nesne oluşturmadan bu nesneye kopyalar.
+     */
+    public void copyFrom(GameState other) {
+        System.arraycopy(other.data, 0, data, 0, STATE_SIZE);
+    }
+
+    public int size(int pile) {
+        return data[pile];
+    }
+
+    public boolean isEmpty(int pile) {
+        return data[pile] == 0;
+    }
+
+    /**
+     * @return Kartın kodu; açık kartlarda {@link Card#FACE_UP} biti de içerir.
+     */
+    public int card(int pile, int index) {
+        return data[BASE[pile] + index];
+    }
+
+    public boolean isFaceUp(int pile, int index) {
+        return Card.isFaceUp(data[BASE[pile] + index]);
+    }
+
+    /**
+     * @return Destenin en üstteki kartının kodu veya deste boşsa {@link Card#NONE}.
+     */
+    public int top(int pile) {
+        int size = data[pile];
+        return size == 0 ? Card.NONE : data[BASE[pile] + size - 1];
+    }
+
+    /**
+     * Desteden taşınabilecek ilk kartın indeksi: tableau için açık dizinin başı,
+     * atık ve hedef için en üstteki kart. Taşınabilir kart yoksa destenin boyutu.
+     */
+    public int runStart(int pile) {
+        if (isTableau(pile)) {
+            return data[pile] == 0 ? 0 : data[RUN_START + pile];
+        }
+        int size = data[pile];
+        return pile == STOCK || size == 0 ? size : size - 1;
+    }
+
+    /**
+     * @return Rengin toplandığı hedef destesi veya henüz As konmadıysa -1.
+     */
+    public int foundationFor(int suit) {
+        int pile = data[SUIT_FOUNDATION + suit];
+        return pile == 0 ? -1 : pile;
+    }
+
+    /**
+     * @return Rengin hedefte beklediği sıradaki değer ({@link Card#ACE} ile 13 arası).
+     */
+    public int foundationNeed(int suit) {
+        int pile = data[SUIT_FOUNDATION + suit];
+        return pile == 0 ? Card.ACE : data[pile];
+    }
+
+    /**
+     * @return Kartın konabileceği ilk hedef destesi veya konamıyorsa -1.
+     */
+    public int foundationTarget(int card) {
+        int suit = Card.suit(card);
+        int pile = data[SUIT_FOUNDATION + suit];
+        if (pile != 0) {
+            return data[pile] == Card.rank(card) ? pile : -1;
+        }
+        if (Card.rank(card) != Card.ACE) {
+            return -1;
+        }
+        for (int f = FOUNDATION; f < FOUNDATION + FOUNDATION_COUNT; f++) {
+            if (data[f] == 0) {
+                return f;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Kartın destenin üstüne konup konamayacağını O(1) sürede söyler
+     * (tableau için karşı renk ve bir düşük değer, boş tableau için Papaz).
+     */
+    public boolean accepts(int pile, int card) {
+        if (isFoundation(pile)) {
+            return canPlaceOnFoundation(card, pile);
+        }
+        return isTableau(pile) && canPlaceOnTableau(card, pile);
+    }
+
+    public static boolean isFoundation(int pile) {
+        return pile >= FOUNDATION && pile < FOUNDATION + FOUNDATION_COUNT;
+    }
+
+    public static boolean isTableau(int pile) {
+        return pile >= TABLEAU && pile < TABLEAU + TABLEAU_COUNT;
+    }
+
+    public static String pileName(int pile) {
+        if (pile == STOCK) {
+            return "Stock";
+        }
+        if (pile == WASTE) {
+            return "Waste";
+        }
+        if (isFoundation(pile)) {
+            return "Foundation" + (pile - FOUNDATION);
+        }
+        return "Tableau" + (pile - TABLEAU);
+    }
+
+    /**
+     * @return Tableau destelerinde hâlâ kapalı duran kart sayısı.
+     */
+    public int hiddenCount() {
+        return data[HIDDEN];
+    }
+
+    /**
+     * Stok ve atık boş, tüm kartlar açıksa sonuç kesinleşmiştir: kartlar sırayla
+     * hedeflere taşınarak oyun her zaman bitirilebilir. O(1) sürer.
+     */
+    public boolean canAutoComplete() {
+        return data[STOCK] == 0 && data[WASTE] == 0 && data[HIDDEN] == 0;
+    }
+
+    /**
+     * Tüm hedef desteleri 13 kart içeriyorsa oyun kazanılmıştır.
+     */
+    public boolean isWon() {
+        return data[FOUNDATION] + data[FOUNDATION + 1] + data[FOUNDATION + 2] + data[FOUNDATION + 3] == Card.COUNT;
+    }
+
+    /**
+     * Hamlenin mevcut durumda kurallara uygun olup olmadığını kontrol eder.
+     */
+    public boolean isLegal(int move) {
+        if (move == Move.DRAW) {
+            return data[STOCK] > 0;
+        }
+        if (move == Move.RECYCLE) {
+            return data[STOCK] == 0 && data[WASTE] > 0;
+        }
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int count = Move.count(move);
+        if (from == to || from == STOCK || from >= PILE_COUNT || to >= PILE_COUNT) {
+            return false;
+        }
+        int size = data[from];
+        if (count < 1 || count > size || (count > 1 && !isTableau(from))) {
+            return false;
+        }
+        int moving = data[BASE[from] + size - count];
+        if (!Card.isFaceUp(moving)) {
+            return false;
+        }
+        if (isFoundation(to)) {
+            // Hedefler arası taşıma (boş hedefe as) legalMoves'ta da üretilmez
+            return count == 1 && !isFoundation(from) && canPlaceOnFoundation(moving, to);
+        }
+        if (isTableau(to)) {
+            return canPlaceOnTableau(moving, to);
+        }
+        return false;
+    }
+
+    /**
+     * Hamleyi kontrol etmeden uygular; çağıran hamlenin geçerli olduğundan emin olmalıdır.
+     * Tableau destesinden kart alındıktan sonra açığa çıkan kapalı kart otomatik çevrilir.
+     *
+     * @return Açığa çıkan bir kart çevrildiyse true.
+     */
+    public boolean apply(int move) {
+        if (move == Move.DRAW) {
+            push(WASTE, pop(STOCK) | Card.FACE_UP);
+            return false;
+        }
+        if (move == Move.RECYCLE) {
+            // Atık ters çevrilip stoğa konur; atığın en altı stoğun en üstü olur
+            int n = data[WASTE];
+            int waste = BASE[WASTE];
+            int stock = BASE[STOCK];
+            for (int i = 0; i < n; i++) {
+                data[stock + i] = (byte) (data[waste + n - 1 - i] & ~Card.FACE_UP);
+            }
+            data[STOCK] = (byte) n;
+            data[WASTE] = 0;
+            return false;
+        }
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int count = Move.count(move);
+        int start = data[from] - count;
+        if (isTableau(to)) {
+            if (data[to] == 0) {
+                data[RUN_START + to] = 0;
+            }
+        } else if (isFoundation(to)) {
+            data[SUIT_FOUNDATION + Card.suit(data[BASE[from] + start])] = (byte) to;
+        }
+        System.arraycopy(data, BASE[from] + start, data, BASE[to] + data[to], count);
+        data[to] += count;
+        data[from] = (byte) start;
+
+        if (isFoundation(from)) {
+            if (start == 0) {
+                data[SUIT_FOUNDATION + Card.suit(data[BASE[from]])] = 0;
+            }
+        } else if (start > 0 && isTableau(from)) {
+            int exposed = BASE[from] + start - 1;
+            if (!Card.isFaceUp(data[exposed])) {
+                data[exposed] |= Card.FACE_UP;
+                data[RUN_START + from] = (byte) (start - 1);
+                data[HIDDEN]--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@link #apply(int)} ile uygulanmış hamleyi geri alır; durum ve özetler hamle
+     * öncesine döner. Hamle bu durumda en son uygulanan hamle olmalıdır.
+     *
+     * @param flipped {@link #apply(int)} hamlede bir kart çevirdiyse true.
+     */
+    public void undo(int move, boolean flipped) {
+        if (move == Move.DRAW) {
+            push(STOCK, pop(WASTE) & ~Card.FACE_UP);
+            return;
+        }
+        if (move == Move.RECYCLE) {
+            int n = data[STOCK];
+            int waste = BASE[WASTE];
+            int stock = BASE[STOCK];
+            for (int i = 0; i < n; i++) {
+                data[waste + i] = (byte) (data[stock + n - 1 - i] | Card.FACE_UP);
+            }
+            data[WASTE] = (byte) n;
+            data[STOCK] = 0;
+            return;
+        }
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int count = Move.count(move);
+        int start = data[from];
+        if (flipped) {
+            data[BASE[from] + start - 1] &= ~Card.FACE_UP;
+            data[HIDDEN]++;
+        }
+        if (isTableau(from) && (flipped || start == 0)) {
+            data[RUN_START + from] = (byte) start;
+        }
+        int end = data[to] - count;
+        System.arraycopy(data, BASE[to] + end, data, BASE[from] + start, count);
+        data[from] += count;
+        data[to] = (byte) end;
+
+        int suit = Card.suit(data[BASE[from] + start]);
+        if (isFoundation(to) && end == 0) {
+            data[SUIT_FOUNDATION + suit] = 0;
+        } else if (isFoundation(from)) {
+            data[SUIT_FOUNDATION + suit] = (byte) from;
+        }
+    }
+
+    /**
+     * Hamle geçerliyse uygular.
+     *
+     * @return Hamle uygulandıysa true.
+     */
+    public boolean tryApply(int move) {
+        if (!isLegal(move)) {
+            return false;
+        }
+        apply(move);
+        return true;
+    }
+
+    /**
+     * Geçerli tüm hamleleri verilen diziye yazar. Özetler sayesinde her kaynak-hedef
+     * çifti O(1) sürede denetlenir; destelerdeki kartlar taranmaz.
+     *
+     * @param out En az {@link #MAX_MOVES} uzunluğunda dizi.
+     * @return Yazılan hamle sayısı.
+     */
+    public int legalMoves(int[] out) {
+        int n = 0;
+        if (data[STOCK] > 0) {
+            out[n++] = Move.DRAW;
+        } else if (data[WASTE] > 0) {
+            out[n++] = Move.RECYCLE;
+        }
+
+        // Atık ve hedef destelerinden yalnızca en üstteki kart oynanabilir
+        for (int from = WASTE; from < TABLEAU; from++) {
+            if (data[from] == 0) {
+                continue;
+            }
+            int card = top(from);
+            if (from == WASTE) {
+                n = addFoundationMoves(out, n, from, card);
+            }
+            for (int t = TABLEAU; t < PILE_COUNT; t++) {
+                if (canPlaceOnTableau(card, t)) {
+                    out[n++] = Move.of(from, t, 1);
+                }
+            }
+        }
+
+        for (int from = TABLEAU; from < PILE_COUNT; from++) {
+            int size = data[from];
+            if (size == 0) {
+                continue;
+            }
+            n = addFoundationMoves(out, n, from, top(from));
+            int base = BASE[from];
+            int runStart = data[RUN_START + from];
+            int topRank = Card.rank(data[base + size - 1]);
+            int first = n;
+            for (int t = TABLEAU; t < PILE_COUNT; t++) {
+                if (t == from) {
+                    continue;
+                }
+                // Açık dizi geçerli bir sıra olduğundan hedefe uyan kart en fazla bir tanedir
+                int target = top(t);
+                int start;
+                if (target == Card.NONE) {
+                    start = runStart;
+                } else {
+                    start = size - 1 - (Card.rank(target) - 1 - topRank);
+                    if (start < runStart || start >= size) {
+                        continue;
+                    }
+                }
+                if (canPlaceOnTableau(data[base + start], t)) {
+                    // Eski tarama sırasını koru: önce az kartlı, sonra küçük hedefli hamleler
+                    int move = Move.of(from, t, size - start);
+                    int j = n++;
+                    while (j > first && out[j - 1] > move) {
+                        out[j] = out[j - 1];
+                        j--;
+                    }
+                    out[j] = move;
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Simetrik durumları aynı değere eşleyen 64 bitlik özet. Hedef destelerinin
+     * ve tableau destelerinin sırası sonucu etkilemez; bu yüzden yalnızca yerleri
+     * değişmiş iki durum çözücüde tek düğüm sayılır.
+     */
+    public long canonicalHash() {
+        long hash = mix(sequenceHash(STOCK) * 31 + sequenceHash(WASTE));
+        for (int f = FOUNDATION; f < FOUNDATION + FOUNDATION_COUNT; f++) {
+            hash += mix(0x100 + top(f));
+        }
+        for (int t = TABLEAU; t < PILE_COUNT; t++) {
+            hash += mix(sequenceHash(t));
+        }
+        return hash;
+    }
+
+    private long sequenceHash(int pile) {
+        long h = data[pile];
+        for (int i = BASE[pile], end = i + data[pile]; i < end; i++) {
+            h = h * 131 + data[i];
+        }
+        return h;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Yalnızca destelerdeki kartlar karşılaştırılır; bölgelerin boş kalan
+     * kısımlarında eski kartlardan kalan byte'lar önemsizdir.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof GameState)) {
+            return false;
+        }
+        byte[] other = ((GameState) obj).data;
+        if (!Arrays.equals(data, 0, PILE_COUNT, other, 0, PILE_COUNT)) {
+            return false;
+        }
+        for (int p = 0; p < PILE_COUNT; p++) {
+            int from = BASE[p];
+            if (!Arrays.equals(data, from, from + data[p], other, from, from + data[p])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int p = 0; p < PILE_COUNT; p++) {
+            hash = 31 * hash + data[p];
+            for (int i = BASE[p], end = i + data[p]; i < end; i++) {
+                hash = 31 * hash + data[i];
+            }
+        }
+        return hash;
+    }
+
+    private int addFoundationMoves(int[] out, int n, int from, int card) {
+        int pile = data[SUIT_FOUNDATION + Card.suit(card)];
+        if (pile != 0) {
+            if (data[pile] == Card.rank(card)) {
+                out[n++] = Move.of(from, pile, 1);
+            }
+        } else if (Card.rank(card) == Card.ACE) {
+            for (int f = FOUNDATION; f < FOUNDATION + FOUNDATION_COUNT; f++) {
+                if (data[f] == 0) {
+                    out[n++] = Move.of(from, f, 1);
+                }
+            }
+        }
+        return n;
+    }
+
+    private boolean canPlaceOnFoundation(int card, int foundation) {
+        int top = top(foundation);
+        if (top == Card.NONE) {
+            return Card.rank(card) == Card.ACE;
+        }
+        return Card.suit(card) == Card.suit(top) && Card.rank(card) == Card.rank(top) + 1;
+    }
+
+    private boolean canPlaceOnTableau(int card, int tableau) {
+        int top = top(tableau);
+        if (top == Card.NONE) {
+            return Card.rank(card) == Card.KING;
+        }
+        return Card.isFaceUp(top) && Card.isRed(card) != Card.isRed(top)
+                && Card.rank(card) + 1 == Card.rank(top);
+    }
+
+    private void push(int pile, int card) {
+        data[BASE[pile] + data[pile]++] = (byte) card;
+    }
+
+    private int pop(int pile) {
+        return data[BASE[pile] + --data[pile]];
+    }
+}
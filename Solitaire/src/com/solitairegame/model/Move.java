@@ -0,0 +1,51 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/Move.java
+
+/**
+ * Hamleler nesne yerine tek bir int olarak kodlanır; böylece motor saniyede
+ * milyonlarca hamleyi çöp üretmeden üretebilir, doğrulayabilir ve uygulayabilir.
+ *
+ * Bit düzeni: [0-3] kaynak deste, [4-7] hedef deste, [8-13] kart sayısı.
+ * Deste indeksleri {@link GameState} sabitleridir.
+ */
+public final class Move {
+
+    /** Stok destesinden atık destesine bir kart çek. */
+    public static final int DRAW = of(GameState.STOCK, GameState.WASTE, 1);
+
+    /** Stok boşken atık destesini ters çevirip stoğa geri koy (sayı 0 = tüm deste). */
+    public static final int RECYCLE = of(GameState.WASTE, GameState.STOCK, 0);
+
+    /** Hiçbir geçerli hamleyi temsil etmeyen değer. */
+    public static final int NONE = -1;
+
+    private Move() {
+    }
+
+    public static int of(int from, int to, int count) {
+        return from | (to << 4) | (count << 8);
+    }
+
+    public static int from(int move) {
+        return move & 0xF;
+    }
+
+    public static int to(int move) {
+        return (move >>> 4) & 0xF;
+    }
+
+    public static int count(int move) {
+        return (move >>> 8) & 0x3F;
+    }
+
+    public static String toString(int move) {
+        if (move == DRAW) {
+            return "DRAW";
+        }
+        if (move == RECYCLE) {
+            return "RECYCLE";
+        }
+        return GameState.pileName(from(move)) + " -> " + GameState.pileName(to(move)) + " x" + count(move);
+    }
+}
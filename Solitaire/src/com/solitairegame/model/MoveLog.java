@@ -0,0 +1,159 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/MoveLog.java
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Sınırsız geri al / yinele için hamle günlüğü.
+ *
+ * Tahta anlık görüntüleri yerine yalnızca hamleler tutulur: {@link Move} kodu
+ * 14 bit, hamlenin kart çevirip çevirmediği bir bit daha; kayıt başına 2 byte.
+ * Stok çekme ve atığı stoğa çevirme de {@link Move#DRAW} / {@link Move#RECYCLE}
+ * olarak aynı günlüğe girer. Geri alma taşınan kart sayısıyla orantılıdır.
+ */
+public final class MoveLog {
+
+    private static final int FLIPPED = 1 << 14;
+    private static final int MOVE_BITS = FLIPPED - 1;
+
+    private short[] entries = new short[256];
+    private int size; // Yinelenebilir kayıtlar dahil toplam kayıt
+    private int cursor; // Uygulanmış kayıt sayısı; cursor..size yinelenebilir
+
+    /**
+     * Hamleyi durum üzerinde uygular ve günlüğe yazar. Yinelenebilir kayıtlar silinir.
+     */
+    public void apply(GameState state, int move) {
+        record(move, state.apply(move));
+    }
+
+    /**
+     * Başka yoldan uygulanmış bir hamleyi günlüğe yazar.
+     *
+     * @param flipped Hamle bir kart çevirdiyse true ({@link GameState#apply(int)} dönüş değeri).
+     */
+    public void record(int move, boolean flipped) {
+        if (cursor == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[cursor++] = (short) (move | (flipped ? FLIPPED : 0));
+        size = cursor;
+    }
+
+    public boolean canUndo() {
+        return cursor > 0;
+    }
+
+    public boolean canRedo() {
+        return cursor < size;
+    }
+
+    /**
+     * Son hamleyi geri alır.
+     *
+     * @return Geri alınan hamle veya geri alınacak hamle yoksa {@link Move#NONE}.
+     */
+    public int undo(GameState state) {
+        if (cursor == 0) {
+            return Move.NONE;
+        }
+        int entry = entries[--cursor];
+        int move = entry & MOVE_BITS;
+        state.undo(move, (entry & FLIPPED) != 0);
+        return move;
+    }
+
+    /**
+     * Geri alınan son hamleyi yeniden uygular.
+     *
+     * @return Uygulanan hamle veya yinelenecek hamle yoksa {@link Move#NONE}.
+     */
+    public int redo(GameState state) {
+        if (cursor == size) {
+            return Move.NONE;
+        }
+        int move = entries[cursor++] & MOVE_BITS;
+        state.apply(move);
+        return move;
+    }
+
+    /**
+     * @return Baştan itibaren uygulanmış hamle sayısı.
+     */
+    public int size() {
+        return cursor;
+    }
+
+    /**
+     * @return Uygulanmış i. hamle (bayraklar olmadan).
+     */
+    public int moveAt(int index) {
+        return entries[index] & MOVE_BITS;
+    }
+
+    /**
+     * Kayıt dosyası için: kayıt sayısı, uygulanmış kayıt sayısı ve kayıtlar.
+     */
+    void writeTo(ByteBuffer buffer) {
+        buffer.putInt(size);
+        buffer.putInt(cursor);
+        for (int i = 0; i < size; i++) {
+            buffer.putShort(entries[i]);
+        }
+    }
+
+    int byteSize() {
+        return 2 * Integer.BYTES + size * Short.BYTES;
+    }
+
+    /**
+     * {@link #writeTo(ByteBuffer)} ile yazılmış günlüğü bu nesneye okur.
+     */
+    void readFrom(ByteBuffer buffer) {
+        int newSize = buffer.getInt();
+        int newCursor = buffer.getInt();
+        // Bölerek karşılaştırılır; büyük boyutta çarpım taşıp denetimi geçebilir
+        if (newSize < 0 || newCursor < 0 || newCursor > newSize || newSize > buffer.remaining() / Short.BYTES) {
+            throw new IllegalArgumentException("Bozuk hamle günlüğü: " + newCursor + "/" + newSize);
+        }
+        if (newSize > entries.length) {
+            entries = new short[newSize]; // Sonraki kayıtlar apply() ile ikiye katlanarak sığar
+        }
+        buffer.asShortBuffer().get(entries, 0, newSize);
+        buffer.position(buffer.position() + newSize * Short.BYTES);
+        size = newSize;
+        cursor = newCursor;
+    }
+
+    /**
+     * Günlüğü başlangıç durumundan yeniden oynatır. Her kayıt o anda geçerli bir
+     * hamle olmalı ve kayıtlı çevirme bayrağı tutmalıdır; uygulanmış kayıtlardan
+     * sonra varılan durum verilen duruma eşit olmalıdır.
+     *
+     * @return Günlük durumla uyuşuyorsa true.
+     */
+    boolean replays(GameState start, GameState current) {
+        GameState state = start.copy();
+        for (int i = 0; i < size; i++) {
+            if (i == cursor && !state.equals(current)) {
+                return false;
+            }
+            int move = entries[i] & MOVE_BITS;
+            if (!state.isLegal(move) || state.apply(move) != ((entries[i] & FLIPPED) != 0)) {
+                return false;
+            }
+        }
+        return cursor < size || state.equals(current);
+    }
+
+    public long memoryBytes() {
+        return (long) entries.length * Short.BYTES;
+    }
+
+    public void clear() {
+        size = 0;
+        cursor = 0;
+    }
+}
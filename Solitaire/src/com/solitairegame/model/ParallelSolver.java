@@ -0,0 +1,193 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/ParallelSolver.java
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * {@link Solver} aramasını fork/join iş çalma havuzunda tüm çekirdeklere yayar.
+ *
+ * Kök ve ilk birkaç seviyedeki düğümler alt görevlere bölünür; daha derindeki
+ * her görev, iş parçacığına ait bir {@link Solver} ile sıralı arama yapar. Tüm
+ * çalışanlar kilitsiz ortak bir transpozisyon tablosunu paylaşır, böylece bir
+ * iş parçacığının gezdiği durumu diğerleri tekrar açmaz.
+ *
+ * Sonuç türü (kazanılabilir / kazanılamaz) iş parçacığı sayısından bağımsızdır:
+ * tabloda başka bir çalışanın tuttuğu durum, o çalışan tarafından sonuna kadar
+ * aranır. Birden çok kazanan yol varsa hangisinin döneceği zamanlamaya bağlıdır,
+ * ama dönen yol her zaman geçerlidir.
+ */
+public class ParallelSolver {
+
+    // Bu derinliğe kadar düğümler alt görevlere bölünür; sonrası sıralı aranır
+    private static final int SPLIT_DEPTH = 3;
+
+    private static final int DEFAULT_TABLE_CAPACITY = 1 << 23;
+    private static final int MAX_TABLE_CAPACITY = 1 << 25;
+
+    private final long nodeLimit;
+    private final long timeLimitMillis;
+    private final int parallelism;
+
+    private volatile SearchControl activeControl;
+    private volatile boolean cancelled;
+
+    public ParallelSolver(long nodeLimit, long timeLimitMillis) {
+        this(nodeLimit, timeLimitMillis, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param nodeLimit        Tüm iş parçacıklarında toplam en fazla düğüm sayısı (0 = sınırsız).
+     * @param timeLimitMillis  En fazla arama süresi (0 = sınırsız).
+     * @param parallelism      Kullanılacak iş parçacığı sayısı.
+     */
+    public ParallelSolver(long nodeLimit, long timeLimitMillis, int parallelism) {
+        this.nodeLimit = nodeLimit > 0 ? nodeLimit : Long.MAX_VALUE;
+        this.timeLimitMillis = timeLimitMillis;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Verilen durum için kazanan bir hamle dizisi arar. Girdi durumu değiştirilmez.
+     */
+    public Solver.Result solve(GameState start) {
+        long startTime = System.nanoTime();
+        SearchControl control = new SearchControl(nodeLimit,
+                timeLimitMillis > 0 ? timeLimitMillis * 1_000_000 : Long.MAX_VALUE);
+        activeControl = control;
+        if (cancelled) {
+            control.stop(Solver.Outcome.CANCELLED);
+        }
+
+        int capacity = nodeLimit == Long.MAX_VALUE ? DEFAULT_TABLE_CAPACITY
+                : (int) Math.min(MAX_TABLE_CAPACITY, Math.max(1 << 16, nodeLimit * 2));
+        ConcurrentTranspositionTable table = new ConcurrentTranspositionTable(capacity);
+        Queue<Solver> workers = new ConcurrentLinkedQueue<>();
+        ThreadLocal<Solver> workerSolver = ThreadLocal.withInitial(() -> {
+            Solver solver = new Solver(table);
+            solver.begin(control);
+            workers.add(solver);
+            return solver;
+        });
+
+        Solver rootSolver = new Solver(table);
+        rootSolver.begin(control);
+        int length = rootSolver.prepareRoot(start);
+        int[] prefix = rootSolver.pathCopy(length);
+        if (rootSolver.root().isWon()) {
+            control.offerSolution(prefix);
+        } else if (!control.isStopped()) {
+            table.add(rootSolver.root().canonicalHash());
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new SearchTask(rootSolver.root().copy(), prefix, 0, control, table, workerSolver));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        activeControl = null;
+
+        long memory = table.memoryBytes() + rootSolver.frameMemoryBytes();
+        for (Solver worker : workers) {
+            memory += worker.frameMemoryBytes();
+        }
+        int[] solution = control.solution();
+        return new Solver.Result(control.outcome(), solution != null ? solution : new int[0], control.nodes(),
+                control.ttHits(), memory, System.nanoTime() - startTime, parallelism);
+    }
+
+    /**
+     * Sürmekte olan (veya daha sonra başlatılacak) aramayı başka bir iş parçacığından durdurur.
+     */
+    public void cancel() {
+        cancelled = true;
+        SearchControl control = activeControl;
+        if (control != null) {
+            control.stop(Solver.Outcome.CANCELLED);
+        }
+    }
+
+    /**
+     * Hızlanma ölçümü için hazır rapor: aynı durum önce tek iş parçacığıyla,
+     * sonra bu çözücünün paralelliğiyle çözülür.
+     */
+    public String speedupReport(GameState start) {
+        Solver.Result sequential = new ParallelSolver(nodeLimit, timeLimitMillis, 1).solve(start);
+        Solver.Result parallel = solve(start);
+        double speedup = (double) sequential.getElapsedNanos() / Math.max(1, parallel.getElapsedNanos());
+        return String.format("1 thread: %s%n%d threads: %s%nspeedup: %.2fx", sequential, parallelism, parallel, speedup);
+    }
+
+    private static final class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final GameState node;
+        private final int[] prefix;
+        private final int depth;
+        private final SearchControl control;
+        private final StateTable table;
+        private final ThreadLocal<Solver> workerSolver;
+
+        SearchTask(GameState node, int[] prefix, int depth, SearchControl control, StateTable table,
+                ThreadLocal<Solver> workerSolver) {
+            this.node = node;
+            this.prefix = prefix;
+            this.depth = depth;
+            this.control = control;
+            this.table = table;
+            this.workerSolver = workerSolver;
+        }
+
+        @Override
+        protected void compute() {
+            if (control.isStopped()) {
+                return;
+            }
+            Solver solver = workerSolver.get();
+            solver.loadRoot(node, prefix);
+
+            if (depth >= SPLIT_DEPTH) {
+                int length = solver.search(prefix.length);
+                if (length >= 0) {
+                    control.offerSolution(solver.pathCopy(length));
+                }
+                return;
+            }
+
+            // Sığ düğüm: her çocuğu ayrı bir göreve çevir, boşta kalan iş parçacıkları çalsın
+            int[] childMoves = solver.rootMoves();
+            List<SearchTask> children = new ArrayList<>(childMoves.length);
+            for (int move : childMoves) {
+                if (control.isStopped()) {
+                    break;
+                }
+                solver.loadRoot(node, prefix);
+                int length = solver.applyToRoot(move, prefix.length);
+                GameState child = solver.root();
+                if (child.isWon()) {
+                    control.offerSolution(solver.pathCopy(length));
+                    break;
+                }
+                boolean fresh = table.add(child.canonicalHash());
+                if (!solver.countNode(!fresh)) {
+                    break;
+                }
+                if (fresh) {
+                    children.add(new SearchTask(child.copy(), solver.pathCopy(length), depth + 1,
+                            control, table, workerSolver));
+                }
+            }
+            solver.flush();
+            invokeAll(children);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/RandomSource.java
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Deste karıştırmada kullanılan rastgele sayı kaynağı.
+ *
+ * Varsayılan uygulama {@link SplittableRandom}'dur: senkronizasyon içermez ve
+ * {@link #split()} ile her iş parçacığına bağımsız bir akış verilebilir, böylece
+ * toplu araçlar ortak bir üreteç için yarışmadan paralel dağıtım üretir. Oyun
+ * başına yeni tohum gereken sıcak döngüler {@link Reseedable} kullanır.
+ */
+public interface RandomSource {
+
+    /**
+     * @return [0, bound) aralığında düzgün dağılmış bir sayı.
+     */
+    int nextInt(int bound);
+
+    long nextLong();
+
+    /**
+     * @return Bu kaynaktan türetilmiş, başka bir iş parçacığında kullanılabilecek yeni kaynak.
+     */
+    RandomSource split();
+
+    /**
+     * Aynı tohum her zaman aynı sayı dizisini verir; dağıtım tohumları bu tanıma dayanır.
+     */
+    static RandomSource seeded(long seed) {
+        return new Splittable(new SplittableRandom(seed));
+    }
+
+    /**
+     * @return Tohumu önemsiz olan durumlar için rastgele tohumlanmış kaynak.
+     */
+    static RandomSource random() {
+        return seeded(ThreadLocalRandom.current().nextLong());
+    }
+
+    final class Splittable implements RandomSource {
+        private final SplittableRandom random;
+
+        Splittable(SplittableRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return random.nextInt(bound);
+        }
+
+        @Override
+        public long nextLong() {
+            return random.nextLong();
+        }
+
+        @Override
+        public RandomSource split() {
+            return new Splittable(random.split());
+        }
+    }
+
+    /**
+     * Yerinde yeniden tohumlanabilen kaynak. Aynı tohumla {@link #seeded(long)} ile
+     * birebir aynı diziyi verir (SplittableRandom'un tohumlu kurucusundaki
+     * SplitMix64 adımı ve sınırlı sayı üretimi); dağıtım sıraları değişmez.
+     * SplittableRandom yeniden tohumlanamadığı için ayrıca yazılmıştır.
+     */
+    final class Reseedable implements RandomSource {
+        private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+        private long seed;
+
+        public Reseedable(long seed) {
+            this.seed = seed;
+        }
+
+        public void reseed(long seed) {
+            this.seed = seed;
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            if (bound <= 0) {
+                throw new IllegalArgumentException("Üst sınır pozitif olmalı: " + bound);
+            }
+            int r = nextInt();
+            int m = bound - 1;
+            if ((bound & m) == 0) {
+                return r & m; // İkinin kuvveti
+            }
+            // Eşit dağılım için taşan aralığa düşen değerler reddedilir
+            int u = r >>> 1;
+            while (u + m - (r = u % bound) < 0) {
+                u = nextInt() >>> 1;
+            }
+            return r;
+        }
+
+        @Override
+        public long nextLong() {
+            long z = seed += GOLDEN_GAMMA;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+        @Override
+        public RandomSource split() {
+            return seeded(nextLong());
+        }
+
+        private int nextInt() {
+            long z = seed += GOLDEN_GAMMA;
+            z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+            return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/Replay.java
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Oynanmış bir oyunun tekrar (replay) dosyası: dağıtım tohumu ve hamle akışı.
+ *
+ * Dosya düzeni (little-endian):
+ * <pre>
+ * magic "SRP1" (int) | sürüm (short) | bayraklar (short) | tohum (long) | hamle sayısı (int)
+ * hamleler: her biri bir varint belirteç
+ * </pre>
+ * Belirteç = kaynak * 13 + hedef + 169 * (kart sayısı - 1); böylece çekme,
+ * atık ve hedef hamleleri tek byte, çok kartlı taşımalar iki byte tutar.
+ * Tohumdan {@link Deck#Deck(long)} ile aynı dağıtım kurulduğu için oyunun
+ * tamamı bu akıştan yeniden oynanabilir.
+ */
+public final class Replay {
+
+    public static final int MAGIC = 0x31505253; // "SRP1"
+    public static final short VERSION = 1;
+
+    /** Bayrak: oyun kazanılarak bitti. */
+    public static final int FLAG_WON = 1;
+
+    static final int HEADER_SIZE = Integer.BYTES + 2 * Short.BYTES + Long.BYTES + Integer.BYTES;
+
+    private static final int PAIRS = GameState.PILE_COUNT * GameState.PILE_COUNT;
+
+    private Replay() {
+    }
+
+    /**
+     * Günlükte uygulanmış hamleleri (geri alınanlar hariç) tekrar dosyası olarak yazar.
+     */
+    public static void write(Path path, long seed, MoveLog log, boolean won) throws IOException {
+        int count = log.size();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * 2).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) (won ? FLAG_WON : 0));
+        buffer.putLong(seed);
+        buffer.putInt(count);
+        for (int i = 0; i < count; i++) {
+            putVarint(buffer, toToken(log.moveAt(i)));
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    static int toToken(int move) {
+        int count = Math.max(1, Move.count(move)); // Atığı çevirme 0 kartlıdır; hedefi stok olduğundan ayırt edilir
+        return Move.from(move) * GameState.PILE_COUNT + Move.to(move) + PAIRS * (count - 1);
+    }
+
+    /**
+     * @return Belirtecin hamlesi veya belirteç geçersizse {@link Move#NONE}.
+     */
+    static int fromToken(int token) {
+        int pair = token % PAIRS;
+        int from = pair / GameState.PILE_COUNT;
+        int to = pair % GameState.PILE_COUNT;
+        int count = token / PAIRS + 1;
+        if (token < 0 || count > Card.KING + 1) {
+            return Move.NONE;
+        }
+        return Move.of(from, to, to == GameState.STOCK ? 0 : count);
+    }
+
+    static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * @return Okunan değer veya tampon varint ortasında bittiyse -1.
+     */
+    static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        return -1;
+    }
+}
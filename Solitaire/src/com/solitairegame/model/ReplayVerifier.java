@@ -0,0 +1,135 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/ReplayVerifier.java
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link Replay} dosyalarını kural motoru üzerinde yeniden oynayarak doğrular.
+ *
+ * Dosya, sabit boyutlu bir doğrudan tampona parça parça okunur ve hamleler
+ * okundukça uygulanır; dosyanın tamamı belleğe alınmaz ve hamle dizisi
+ * oluşturulmaz. Nesne iş parçacığı güvenli değildir; paralel doğrulamada her
+ * iş parçacığı kendi örneğini kullanmalıdır.
+ */
+public final class ReplayVerifier {
+
+    public enum Status {
+        /** Tüm hamleler geçerli ve oyun kazanıldı. */
+        WON,
+        /** Tüm hamleler geçerli, oyun kazanılmadan bırakıldı. */
+        INCOMPLETE,
+        /** Kurallara aykırı bir hamle var. */
+        ILLEGAL_MOVE,
+        /** Başlık, hamle sayısı veya kazanma bayrağı dosyayla tutarsız. */
+        CORRUPT
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private FileChannel channel;
+    private boolean endOfFile;
+
+    private long seed;
+    private int moveCount;
+    private int failedMove = -1;
+
+    public Status verify(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            this.channel = channel;
+            endOfFile = false;
+            buffer.clear();
+            buffer.flip();
+            return verifyStream();
+        } finally {
+            channel = null;
+        }
+    }
+
+    /**
+     * @return Son doğrulanan dosyanın tohumu.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return Son dosyada başlıkta bildirilen hamle sayısı.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @return Son dosyada geçersiz bulunan hamlenin sırası veya hata yoksa -1.
+     */
+    public int getFailedMove() {
+        return failedMove;
+    }
+
+    private Status verifyStream() throws IOException {
+        failedMove = -1;
+        moveCount = 0;
+        if (!ensure(Replay.HEADER_SIZE)) {
+            return Status.CORRUPT;
+        }
+        if (buffer.getInt() != Replay.MAGIC || buffer.getShort() != Replay.VERSION) {
+            return Status.CORRUPT;
+        }
+        int flags = buffer.getShort();
+        seed = buffer.getLong();
+        moveCount = buffer.getInt();
+        if (moveCount < 0) {
+            return Status.CORRUPT;
+        }
+
+        GameState state = GameState.deal(new Deck(seed));
+        for (int i = 0; i < moveCount; i++) {
+            ensure(MAX_VARINT_BYTES);
+            int token = Replay.getVarint(buffer);
+            if (token < 0) {
+                return Status.CORRUPT;
+            }
+            int move = Replay.fromToken(token);
+            if (move == Move.NONE || !state.tryApply(move)) {
+                failedMove = i;
+                return Status.ILLEGAL_MOVE;
+            }
+        }
+        ensure(1);
+        if (buffer.hasRemaining()) {
+            return Status.CORRUPT; // Bildirilen hamlelerden sonra fazladan veri
+        }
+        boolean won = state.isWon();
+        if (won != ((flags & Replay.FLAG_WON) != 0)) {
+            return Status.CORRUPT;
+        }
+        return won ? Status.WON : Status.INCOMPLETE;
+    }
+
+    /**
+     * Tamponda en az {@code bytes} byte okunmamış veri kalmasını sağlar.
+     *
+     * @return Dosya sonundan önce yeterli veri varsa true.
+     */
+    private boolean ensure(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes || endOfFile) {
+            return buffer.remaining() >= bytes;
+        }
+        buffer.compact(); // Okunmamış baytlar başa taşınır; tek okuma genelde tamponu doldurur
+        while (buffer.position() < bytes && !endOfFile) {
+            if (channel.read(buffer) < 0) {
+                endOfFile = true;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+}
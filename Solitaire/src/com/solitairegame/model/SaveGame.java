@@ -0,0 +1,128 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/SaveGame.java
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Yarıda bırakılan oyunun ikili kayıt dosyası.
+ *
+ * Dosya düzeni (little-endian):
+ * <pre>
+ * magic "SSV1" (int) | sürüm (short) | durum boyutu (short) | tohum (long) | geçen süre ms (long)
+ * durum ({@link GameState#STATE_SIZE} byte, motorun ham dizisi)
+ * günlük kayıt sayısı (int) | uygulanmış kayıt (int) | kayıtlar (short[])
+ * </pre>
+ * Durum motorun kendi düz dizisi olduğu için okuma tek bir kopyalamadır; Java
+ * serileştirmesi kullanılmaz. Durum boyutu değişirse eski kayıtlar reddedilir.
+ * Okunan durumun özetleri destelerle, hamle günlüğü de tohumdan yapılan
+ * dağıtımdan yeniden oynatılarak durumla denetlenir.
+ */
+public final class SaveGame {
+
+    public static final int MAGIC = 0x31565353; // "SSV1"
+    public static final short VERSION = 1;
+
+    private static final int HEADER_SIZE = Integer.BYTES + 2 * Short.BYTES + 2 * Long.BYTES;
+
+    private final GameState state;
+    private final long seed;
+    private final long elapsedMillis;
+    private final MoveLog moveLog;
+
+    public SaveGame(GameState state, long seed, long elapsedMillis, MoveLog moveLog) {
+        this.state = state;
+        this.seed = seed;
+        this.elapsedMillis = elapsedMillis;
+        this.moveLog = moveLog;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public MoveLog getMoveLog() {
+        return moveLog;
+    }
+
+    /**
+     * Kaydı önce geçici dosyaya yazar, sonra asıl dosyanın yerine taşır; yazım
+     * yarıda kesilirse eski kayıt bozulmaz.
+     */
+    public void write(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + GameState.STATE_SIZE + moveLog.byteSize())
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) GameState.STATE_SIZE);
+        buffer.putLong(seed);
+        buffer.putLong(elapsedMillis);
+        state.writeTo(buffer);
+        moveLog.writeTo(buffer);
+        buffer.flip();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static SaveGame read(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE || length > Integer.MAX_VALUE) {
+                throw new IOException("Geçersiz kayıt dosyası boyutu: " + length);
+            }
+            buffer = ByteBuffer.allocate((int) length).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Dosyanın tamamı okunana kadar devam et
+            }
+        }
+        buffer.flip();
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Kayıt dosyası değil: " + path);
+            }
+            if (buffer.getShort() != VERSION || buffer.getShort() != GameState.STATE_SIZE) {
+                throw new IOException("Desteklenmeyen kayıt sürümü: " + path);
+            }
+            long seed = buffer.getLong();
+            long elapsedMillis = buffer.getLong();
+            GameState state = GameState.readFrom(buffer);
+            if (!state.isConsistent()) {
+                throw new IOException("Kayıt dosyasındaki oyun durumu bozuk: " + path);
+            }
+            MoveLog moveLog = new MoveLog();
+            moveLog.readFrom(buffer);
+            if (!moveLog.replays(GameState.deal(new Deck(seed)), state)) {
+                throw new IOException("Kayıt dosyasındaki hamle günlüğü oyun durumuyla uyuşmuyor: " + path);
+            }
+            return new SaveGame(state, seed, elapsedMillis, moveLog);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Kayıt dosyası eksik veya bozuk: " + path, e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/SearchControl.java
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bir çözüm aramasının tüm iş parçacıklarınca paylaşılan bütçesi, sayaçları ve
+ * durdurma bayrağı. Sayaçlar her düğümde değil, toplu olarak güncellenir; böylece
+ * paralel aramada ortak bir sayaç için çekişme oluşmaz.
+ */
+final class SearchControl {
+
+    /** Bir çalışanın sayaçlarını paylaşılan toplamlara kaç düğümde bir eklediği. */
+    static final int REPORT_INTERVAL = 1024;
+
+    private final long nodeLimit;
+    private final long deadline;
+    private final AtomicLong nodes = new AtomicLong();
+    private final AtomicLong ttHits = new AtomicLong();
+    private final AtomicReference<Solver.Outcome> stopReason = new AtomicReference<>();
+    private final AtomicReference<int[]> solution = new AtomicReference<>();
+
+    SearchControl(long nodeLimit, long timeLimitNanos) {
+        this.nodeLimit = nodeLimit;
+        this.deadline = timeLimitNanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + timeLimitNanos;
+    }
+
+    /**
+     * Çalışanın biriktirdiği sayaçları ekler ve bütçeyi kontrol eder.
+     *
+     * @return Arama devam edebilirse true.
+     */
+    boolean report(long nodeDelta, long hitDelta) {
+        long total = nodes.addAndGet(nodeDelta);
+        if (hitDelta != 0) {
+            ttHits.addAndGet(hitDelta);
+        }
+        if (total >= nodeLimit || (deadline != Long.MAX_VALUE && System.nanoTime() >= deadline)) {
+            stop(Solver.Outcome.BUDGET_EXCEEDED);
+        }
+        return stopReason.get() == null;
+    }
+
+    boolean isStopped() {
+        return stopReason.get() != null;
+    }
+
+    /**
+     * Aramayı durdurur; yalnızca ilk durdurma nedeni kaydedilir.
+     */
+    void stop(Solver.Outcome reason) {
+        stopReason.compareAndSet(null, reason);
+    }
+
+    /**
+     * İlk bulunan çözümü kaydeder ve tüm çalışanları durdurur.
+     */
+    void offerSolution(int[] moves) {
+        if (solution.compareAndSet(null, moves)) {
+            stopReason.set(Solver.Outcome.SOLVED);
+        }
+    }
+
+    int[] solution() {
+        return solution.get();
+    }
+
+    Solver.Outcome outcome() {
+        if (solution.get() != null) {
+            return Solver.Outcome.SOLVED;
+        }
+        Solver.Outcome reason = stopReason.get();
+        return reason != null ? reason : Solver.Outcome.UNWINNABLE;
+    }
+
+    long nodes() {
+        return nodes.get();
+    }
+
+    long ttHits() {
+        return ttHits.get();
+    }
+}
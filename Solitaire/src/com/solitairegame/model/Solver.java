@@ -0,0 +1,524 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/Solver.java
+
+import java.util.Arrays;
+
+/**
+ * Derinlik öncelikli Klondike çözücü.
+ *
+ * Ziyaret edilen durumlar simetrik özetleriyle bir transpozisyon tablosunda
+ * tutulur, güvenli hedef hamleleri dallanmadan otomatik yapılır ve kalan
+ * hamleler sezgisel bir puana göre sıralanır. Arama özyinelemesiz çalışır;
+ * her derinlik için önceden ayrılmış durum ve hamle tamponları yeniden
+ * kullanılır. Aynı nesne art arda birçok dağıtım için kullanılabilir.
+ */
+public class Solver {
+
+    public enum Outcome {
+        SOLVED, UNWINNABLE, BUDGET_EXCEEDED, CANCELLED
+    }
+
+    /**
+     * Bir çözüm denemesinin sonucu ve sayaçları.
+     */
+    public static final class Result {
+        private final Outcome outcome;
+        private final int[] moves;
+        private final long nodes;
+        private final long ttHits;
+        private final long peakMemoryBytes;
+        private final long elapsedNanos;
+        private final int threads;
+
+        Result(Outcome outcome, int[] moves, long nodes, long ttHits, long peakMemoryBytes, long elapsedNanos, int threads) {
+            this.outcome = outcome;
+            this.moves = moves;
+            this.nodes = nodes;
+            this.ttHits = ttHits;
+            this.peakMemoryBytes = peakMemoryBytes;
+            this.elapsedNanos = elapsedNanos;
+            this.threads = threads;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public boolean isSolved() {
+            return outcome == Outcome.SOLVED;
+        }
+
+        /**
+         * @return Başlangıç durumundan kazanmaya götüren hamleler; çözüm yoksa boş dizi.
+         */
+        public int[] getMoves() {
+            return moves.clone();
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public long getTtHits() {
+            return ttHits;
+        }
+
+        public long getPeakMemoryBytes() {
+            return peakMemoryBytes;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        @Override
+        public String toString() {
+            return outcome + " moves=" + moves.length + " nodes=" + nodes + " ttHits=" + ttHits
+                    + " peakMemory=" + (peakMemoryBytes / 1024) + "KB time=" + (elapsedNanos / 1_000_000) + "ms threads=" + threads;
+        }
+    }
+
+    // Arama içinde hamlenin üst bitleri, hamleden önce yapılacak çekme/çevirme adımı sayısıdır
+    private static final int STEP_SHIFT = 16;
+    private static final int MOVE_MASK = (1 << STEP_SHIFT) - 1;
+
+    // Birleşik stok hamleleri, tek durumdaki geçerli hamle sayısından fazla olabilir
+    private static final int MAX_NODE_MOVES = 512;
+    private static final int[] NO_MOVES = new int[0];
+
+    private final long nodeLimit;
+    private final long timeLimitNanos;
+
+    private final int[] foundationNext = new int[4];
+    private final int[] scoreBuffer = new int[MAX_NODE_MOVES];
+    private final GameState stockProbe = new GameState();
+
+    // Derinlik başına yeniden kullanılan tamponlar
+    private GameState[] states = new GameState[0];
+    private int[][] moves = new int[0][];
+    private int[] moveCount = new int[0];
+    private int[] nextMove = new int[0];
+    private int[] pathStart = new int[0];
+    private int[] path = new int[256];
+
+    // Paylaşılan sayaçlara henüz eklenmemiş yerel sayaçlar
+    private long nodes;
+    private long ttHits;
+
+    private final StateTable table;
+    private SearchControl control;
+    private volatile SearchControl activeControl;
+
+    /**
+     * @param nodeLimit        Genişletilecek en fazla düğüm sayısı (0 = sınırsız).
+     * @param timeLimitMillis  En fazla arama süresi (0 = sınırsız).
+     */
+    public Solver(long nodeLimit, long timeLimitMillis) {
+        this.nodeLimit = nodeLimit > 0 ? nodeLimit : Long.MAX_VALUE;
+        this.timeLimitNanos = timeLimitMillis > 0 ? timeLimitMillis * 1_000_000 : Long.MAX_VALUE;
+        this.table = new TranspositionTable(1 << 16);
+    }
+
+    /**
+     * Paralel çözücünün çalışanları için: bütçe ve tablo dışarıdan paylaşılır.
+     */
+    Solver(StateTable table) {
+        this.nodeLimit = Long.MAX_VALUE;
+        this.timeLimitNanos = Long.MAX_VALUE;
+        this.table = table;
+    }
+
+    /**
+     * Verilen durum için kazanan bir hamle dizisi arar. Girdi durumu değiştirilmez.
+     */
+    public Result solve(GameState start) {
+        long startTime = System.nanoTime();
+        table.clear();
+        SearchControl control = new SearchControl(nodeLimit, timeLimitNanos);
+        activeControl = control;
+        begin(control);
+
+        int length = prepareRoot(start);
+        if (states[0].isWon()) {
+            control.offerSolution(Arrays.copyOf(path, length));
+        } else {
+            table.add(states[0].canonicalHash());
+            length = search(length);
+            if (length >= 0) {
+                control.offerSolution(Arrays.copyOf(path, length));
+            }
+        }
+        activeControl = null;
+        int[] solution = control.solution();
+        return new Result(control.outcome(), solution != null ? solution : NO_MOVES, control.nodes(),
+                control.ttHits(), table.memoryBytes() + frameMemoryBytes(), System.nanoTime() - startTime, 1);
+    }
+
+    /**
+     * Sürmekte olan aramayı başka bir iş parçacığından durdurur.
+     */
+    public void cancel() {
+        SearchControl control = activeControl;
+        if (control != null) {
+            control.stop(Outcome.CANCELLED);
+        }
+    }
+
+    void begin(SearchControl control) {
+        this.control = control;
+        nodes = 0;
+        ttHits = 0;
+    }
+
+    /**
+     * Başlangıç durumunu kök olarak yükler ve güvenli hamleleri uygular.
+     *
+     * @return Güvenli hamlelerden sonraki yol uzunluğu.
+     */
+    int prepareRoot(GameState start) {
+        ensureDepth(1);
+        states[0].copyFrom(start);
+        return applySafeMoves(states[0], 0);
+    }
+
+    /**
+     * Daha önce hazırlanmış bir düğümü, ona götüren yolla birlikte kök olarak yükler.
+     */
+    void loadRoot(GameState node, int[] prefix) {
+        ensureDepth(1);
+        states[0].copyFrom(node);
+        ensurePath(prefix.length);
+        System.arraycopy(prefix, 0, path, 0, prefix.length);
+    }
+
+    GameState root() {
+        return states[0];
+    }
+
+    /**
+     * Kökün sıralanmış hamlelerini döner; paralel çözücü bunları alt görevlere böler.
+     */
+    int[] rootMoves() {
+        generateMoves(0);
+        return Arrays.copyOf(moves[0], moveCount[0]);
+    }
+
+    /**
+     * Bir kök hamlesini (birleşik stok adımları ve ardından gelen güvenli hamlelerle)
+     * kök duruma uygular.
+     *
+     * @return Yeni yol uzunluğu.
+     */
+    int applyToRoot(int move, int length) {
+        return applyMove(states[0], move, length);
+    }
+
+    int[] pathCopy(int length) {
+        return Arrays.copyOf(path, length);
+    }
+
+    /**
+     * Sayılan düğümü ve tablo isabetini yerel sayaçlara ekler.
+     *
+     * @return Arama devam edebilirse true.
+     */
+    boolean countNode(boolean ttHit) {
+        if (ttHit) {
+            ttHits++;
+            return true;
+        }
+        if (++nodes >= SearchControl.REPORT_INTERVAL) {
+            return flush();
+        }
+        return true;
+    }
+
+    boolean flush() {
+        boolean running = control.report(nodes, ttHits);
+        nodes = 0;
+        ttHits = 0;
+        return running;
+    }
+
+    long frameMemoryBytes() {
+        long frameBytes = GameState.STATE_SIZE + (long) MAX_NODE_MOVES * Integer.BYTES;
+        return states.length * frameBytes + (long) path.length * Integer.BYTES;
+    }
+
+    /**
+     * Kök durum (states[0]) ve ona götüren yol (path[0..length)) hazırken
+     * derinlik öncelikli aramayı yürütür. Kök tabloya önceden eklenmiş olmalıdır.
+     *
+     * @return Çözüm bulunduysa yolun uzunluğu, aksi halde -1.
+     */
+    int search(int length) {
+        pathStart[0] = length;
+        generateMoves(0);
+        int depth = 0;
+
+        while (depth >= 0) {
+            if (nextMove[depth] >= moveCount[depth]) {
+                depth--; // Bu düğümün tüm hamleleri denendi, geri dön
+                continue;
+            }
+            int move = moves[depth][nextMove[depth]++];
+
+            ensureDepth(depth + 2);
+            GameState child = states[depth + 1];
+            child.copyFrom(states[depth]);
+            length = applyMove(child, move, pathStart[depth]);
+
+            if (child.isWon()) {
+                flush();
+                return length;
+            }
+            boolean fresh = table.add(child.canonicalHash());
+            if (!countNode(!fresh)) {
+                return -1; // Bütçe doldu, iptal edildi veya başka bir çalışan çözdü
+            }
+            if (!fresh) {
+                continue;
+            }
+
+            depth++;
+            pathStart[depth] = length;
+            generateMoves(depth);
+        }
+        flush();
+        return -1;
+    }
+
+    private int applyMove(GameState state, int move, int length) {
+        int steps = move >>> STEP_SHIFT;
+        ensurePath(length + steps + 1);
+        for (int i = 0; i < steps; i++) {
+            length = applyStockStep(state, length);
+        }
+        move &= MOVE_MASK;
+        state.apply(move);
+        path[length++] = move;
+        return applySafeMoves(state, length);
+    }
+
+    /**
+     * Hiçbir zaman geri alınması gerekmeyen hedef hamlelerini uygular: As ve 2'ler
+     * her zaman, diğer kartlar ise üzerine konabilecek karşı renk kartlar zaten
+     * hedefteyse.
+     *
+     * @return Yol uzunluğunun yeni değeri.
+     */
+    private int applySafeMoves(GameState state, int length) {
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            updateFoundationNext(state);
+            for (int from = GameState.WASTE; from < GameState.PILE_COUNT; from++) {
+                if (GameState.isFoundation(from)) {
+                    continue;
+                }
+                int card = state.top(from);
+                if (card == Card.NONE || !isSafeForFoundation(card)) {
+                    continue;
+                }
+                int move = Move.of(from, state.foundationTarget(card), 1);
+                state.apply(move);
+                ensurePath(length + 1);
+                path[length++] = move;
+                moved = true;
+                break;
+            }
+        }
+        return length;
+    }
+
+    private void updateFoundationNext(GameState state) {
+        for (int suit = 0; suit < foundationNext.length; suit++) {
+            foundationNext[suit] = state.foundationNeed(suit);
+        }
+    }
+
+    private boolean isSafeForFoundation(int card) {
+        int rank = Card.rank(card);
+        if (rank != foundationNext[Card.suit(card)]) {
+            return false;
+        }
+        if (rank <= 1) {
+            return true;
+        }
+        // Sinek/maça siyah, karo/kupa kırmızı
+        if (Card.isRed(card)) {
+            return foundationNext[Card.Suit.CLUBS.ordinal()] >= rank && foundationNext[Card.Suit.SPADES.ordinal()] >= rank;
+        }
+        return foundationNext[Card.Suit.DIAMONDS.ordinal()] >= rank && foundationNext[Card.Suit.HEARTS.ordinal()] >= rank;
+    }
+
+    /**
+     * Derinlikteki durum için geçerli hamleleri üretir, simetrik veya anlamsız
+     * olanları eler ve umut vadedenler önce gelecek şekilde sıralar.
+     */
+    private void generateMoves(int depth) {
+        GameState state = states[depth];
+        int[] buffer = moves[depth];
+        int total = state.legalMoves(buffer);
+        updateFoundationNext(state);
+        int kept = 0;
+        int foundationSources = 0;
+        int emptyTargetSources = 0;
+
+        for (int i = 0; i < total; i++) {
+            int move = buffer[i];
+            int from = Move.from(move);
+            int to = Move.to(move);
+            int score;
+            if (move == Move.DRAW || move == Move.RECYCLE || from == GameState.WASTE) {
+                continue; // Stok ve atık hamleleri aşağıda birleşik olarak üretilir
+            } else if (GameState.isFoundation(to)) {
+                // Boş hedef destelerinden hangisine konduğu önemsiz; kaynak başına tek hamle yeter
+                if ((foundationSources & (1 << from)) != 0) {
+                    continue;
+                }
+                foundationSources |= 1 << from;
+                score = 100 + (exposesHiddenCard(state, move) ? 20 : 0);
+            } else if (GameState.isFoundation(from)) {
+                score = 2;
+            } else {
+                int start = state.size(from) - Move.count(move);
+                if (state.isEmpty(to)) {
+                    // Papazı bir boş sütundan diğerine taşımak anlamsız; boş sütunlar da birbirinin eşi
+                    if (start == 0 || (emptyTargetSources & (1 << from)) != 0) {
+                        continue;
+                    }
+                    emptyTargetSources |= 1 << from;
+                }
+                if (start > 0 && !state.isFaceUp(from, start - 1)) {
+                    score = 80 + start;
+                } else if (start == 0) {
+                    score = 60;
+                } else if (canGoToFoundation(state.card(from, start - 1))) {
+                    score = 30;
+                } else {
+                    // Dizinin bir kısmını taşımak, alttaki karta diğer renkten bir kart koymaya
+                    // yarayabilir; elenirse arama eksik kalır ve UNWINNABLE kanıt olmaktan çıkar
+                    score = 1;
+                }
+            }
+
+            kept = insertByScore(buffer, kept, move, score);
+        }
+        kept = addStockMoves(state, buffer, kept);
+        moveCount[depth] = kept;
+        nextMove[depth] = 0;
+    }
+
+    /**
+     * Tek tek çekme hamleleri yerine, stok ve atıktaki erişilebilir her kart için
+     * "k kez çek, sonra atığın üstündeki kartı oyna" biçiminde birleşik hamleler
+     * ekler. Çekmeler diğer hamlelerle yer değiştirebildiği için arama eksiksiz
+     * kalır, ama stok döngüsündeki ara durumlar düğüm olarak açılmaz.
+     */
+    private int addStockMoves(GameState state, int[] buffer, int kept) {
+        int stock = state.size(GameState.STOCK);
+        int waste = state.size(GameState.WASTE);
+        // İlk turda stoktaki kartlar, çevirmeden sonra ise atığın üstü dışındaki kartlar gezilir
+        int maxSteps = stock + (waste > 0 ? waste : 0);
+        stockProbe.copyFrom(state);
+        for (int steps = 0; steps <= maxSteps; steps++) {
+            if (steps > 0) {
+                stockStep(stockProbe);
+                if (stockProbe.isEmpty(GameState.WASTE)) {
+                    continue; // Çevirme sonrası atık boş; bir sonraki adım kart çeker
+                }
+            }
+            if (stockProbe.isEmpty(GameState.WASTE)) {
+                continue;
+            }
+            int card = stockProbe.top(GameState.WASTE);
+            int foundation = stockProbe.foundationTarget(card);
+            if (foundation >= 0) {
+                kept = insertByScore(buffer, kept, Move.of(GameState.WASTE, foundation, 1) | (steps << STEP_SHIFT),
+                        steps == 0 ? 100 : 40);
+            }
+            boolean emptyTableauAdded = false;
+            for (int to = GameState.TABLEAU; to < GameState.PILE_COUNT; to++) {
+                if (!stockProbe.accepts(to, card)) {
+                    continue;
+                }
+                int move = Move.of(GameState.WASTE, to, 1);
+                int score;
+                if (stockProbe.isEmpty(to)) {
+                    if (emptyTableauAdded) {
+                        continue;
+                    }
+                    emptyTableauAdded = true;
+                    score = steps == 0 ? 45 : 15;
+                } else {
+                    score = steps == 0 ? 50 : 20;
+                }
+                kept = insertByScore(buffer, kept, move | (steps << STEP_SHIFT), score);
+            }
+        }
+        return kept;
+    }
+
+    private int insertByScore(int[] buffer, int kept, int move, int score) {
+        // Puana göre azalan sırada araya ekle; eşit puanlılar üretim sırasını korur
+        int j = kept++;
+        while (j > 0 && scoreBuffer[j - 1] < score) {
+            scoreBuffer[j] = scoreBuffer[j - 1];
+            buffer[j] = buffer[j - 1];
+            j--;
+        }
+        scoreBuffer[j] = score;
+        buffer[j] = move;
+        return kept;
+    }
+
+    private static int stockStep(GameState state) {
+        int step = state.isEmpty(GameState.STOCK) ? Move.RECYCLE : Move.DRAW;
+        state.apply(step);
+        return step;
+    }
+
+    private int applyStockStep(GameState state, int length) {
+        path[length++] = stockStep(state);
+        return length;
+    }
+
+    private boolean canGoToFoundation(int card) {
+        return Card.rank(card) == foundationNext[Card.suit(card)];
+    }
+
+    private static boolean exposesHiddenCard(GameState state, int move) {
+        int from = Move.from(move);
+        int start = state.size(from) - Move.count(move);
+        return GameState.isTableau(from) && start > 0 && !state.isFaceUp(from, start - 1);
+    }
+
+    private void ensureDepth(int depth) {
+        if (depth <= states.length) {
+            return;
+        }
+        int capacity = Math.max(depth, states.length * 2);
+        int old = states.length;
+        states = Arrays.copyOf(states, capacity);
+        moves = Arrays.copyOf(moves, capacity);
+        for (int i = old; i < capacity; i++) {
+            states[i] = new GameState();
+            moves[i] = new int[MAX_NODE_MOVES];
+        }
+        moveCount = Arrays.copyOf(moveCount, capacity);
+        nextMove = Arrays.copyOf(nextMove, capacity);
+        pathStart = Arrays.copyOf(pathStart, capacity);
+    }
+
+    private void ensurePath(int length) {
+        if (length > path.length) {
+            path = Arrays.copyOf(path, Math.max(length, path.length * 2));
+        }
+    }
+}
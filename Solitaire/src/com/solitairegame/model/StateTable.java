@@ -0,0 +1,18 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/StateTable.java
+
+/**
+ * Çözücünün ziyaret edilmiş durum özetlerini kaydettiği tablo.
+ */
+interface StateTable {
+
+    /**
+     * @return Özet daha önce tabloda yoksa true.
+     */
+    boolean add(long hash);
+
+    long memoryBytes();
+
+    void clear();
+}
@@ -0,0 +1,79 @@
+package com.solitairegame.model;
+
+//com.solitairegame.model/TranspositionTable.java
+
+import java.util.Arrays;
+
+/**
+ * Çözücünün daha önce ziyaret ettiği durumların özetlerini tutan açık adresli
+ * tablo. Yalnızca 64 bitlik özetler saklanır; durum başına 8 byte yeterlidir.
+ */
+final class TranspositionTable implements StateTable {
+
+    private static final double MAX_LOAD = 0.5;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+
+    TranspositionTable(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(16, initialCapacity - 1)) << 1;
+        keys = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Özeti tabloya ekler.
+     *
+     * @return Özet daha önce tabloda yoksa true.
+     */
+    @Override
+    public boolean add(long hash) {
+        long key = hash == 0 ? 1 : hash; // 0 boş yuva anlamına gelir
+        int index = (int) (key ^ (key >>> 32)) & mask;
+        while (true) {
+            long existing = keys[index];
+            if (existing == key) {
+                return false;
+            }
+            if (existing == 0) {
+                keys[index] = key;
+                if (++size > keys.length * MAX_LOAD) {
+                    grow();
+                }
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    @Override
+    public long memoryBytes() {
+        return (long) keys.length * Long.BYTES;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+    }
+
+    private void grow() {
+        long[] old = keys;
+        keys = new long[old.length << 1];
+        mask = keys.length - 1;
+        for (long key : old) {
+            if (key != 0) {
+                int index = (int) (key ^ (key >>> 32)) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+            }
+        }
+    }
+}
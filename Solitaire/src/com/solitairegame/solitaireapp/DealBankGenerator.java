@@ -0,0 +1,93 @@
+package com.solitairegame.solitaireapp;
+
+import com.solitairegame.model.DealBank;
+import com.solitairegame.model.Deck;
+import com.solitairegame.model.GameState;
+import com.solitairegame.model.Solver;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Kazanılabilir dağıtımları çevrimdışı üretip {@link DealBank} dosyasına ekleyen,
+ * arayüz açmadan çalışan giriş noktası.
+ *
+ * Tohumlar parçalar halinde iş parçacıklarına dağıtılır; her iş parçacığı kendi
+ * tek iş parçacıklı {@link Solver} örneğini kullanır. Sonuçlar tohum sırasıyla
+ * yazılır, böylece dosya sıralı kalır ve tohumla ikili arama yapılabilir.
+ * Bütçe içinde çözülemeyen dağıtımlar bankaya alınmaz. Dosya verilmezse oyunun
+ * okuduğu {@link DealBank#defaultPath()} kullanılır.
+ *
+ * Kullanım: DealBankGenerator [dosya] [tohum sayısı] [iş parçacığı] [düğüm sınırı] [başlangıç tohumu]
+ */
+public class DealBankGenerator {
+
+    private static final int CHUNK_SIZE = 256;
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        Path file = args.length > 0 ? Paths.get(args[0]) : DealBank.defaultPath();
+        long count = args.length > 1 ? Long.parseLong(args[1]) : 10_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long nodeLimit = args.length > 3 ? Long.parseLong(args[3]) : 200_000;
+
+        ThreadLocal<Solver> solvers = ThreadLocal.withInitial(() -> new Solver(nodeLimit, 0));
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        long startTime = System.nanoTime();
+        long solved = 0;
+        try (DealBank.Writer writer = new DealBank.Writer(file)) {
+            long firstSeed = args.length > 4 ? Long.parseLong(args[4]) : writer.nextSeed();
+            long endSeed = firstSeed + count;
+
+            // Sıralı yazım için sınırlı bir pencere: bellekte en fazla threads*2 parça bekler
+            Deque<Future<long[]>> window = new ArrayDeque<>();
+            int maxPending = Math.max(1, threads) * 2;
+            for (long chunkStart = firstSeed; chunkStart < endSeed; chunkStart += CHUNK_SIZE) {
+                long from = chunkStart;
+                long to = Math.min(endSeed, chunkStart + CHUNK_SIZE);
+                window.add(executor.submit(() -> solveChunk(solvers.get(), from, to)));
+                if (window.size() >= maxPending) {
+                    solved += write(writer, window.removeFirst().get());
+                }
+            }
+            while (!window.isEmpty()) {
+                solved += write(writer, window.removeFirst().get());
+            }
+            System.out.println(String.format("%d / %d tohum kazanılabilir, %.1f s, son tohum %d -> %s",
+                    solved, count, (System.nanoTime() - startTime) / 1e9, endSeed - 1, file));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @return Çözülen her tohum için üçlü (tohum, düğüm, çözüm uzunluğu) içeren düz dizi.
+     */
+    private static long[] solveChunk(Solver solver, long from, long to) {
+        long[] results = new long[(int) (to - from) * 3];
+        int size = 0;
+        for (long seed = from; seed < to; seed++) {
+            Solver.Result result = solver.solve(GameState.deal(new Deck(seed)));
+            if (result.isSolved()) {
+                results[size++] = seed;
+                results[size++] = result.getNodes();
+                results[size++] = result.getMoves().length;
+            }
+        }
+        return Arrays.copyOf(results, size);
+    }
+
+    private static int write(DealBank.Writer writer, long[] results) throws IOException {
+        for (int i = 0; i < results.length; i += 3) {
+            writer.append(results[i], results[i + 1], (int) results[i + 2]);
+        }
+        return results.length / 3;
+    }
+}
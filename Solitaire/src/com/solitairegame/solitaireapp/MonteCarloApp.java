@@ -0,0 +1,137 @@
+package com.solitairegame.solitaireapp;
+
+import com.solitairegame.model.AutoPlayer;
+import com.solitairegame.model.RandomSource;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Otomatik bir politikayla çok sayıda dağıtımı oynayıp kazanma oranını tahmin
+ * eden, arayüz açmadan çalışan giriş noktası.
+ *
+ * Oyunlar parçalar halinde iş parçacıklarına dağıtılır; her iş parçacığı kendi
+ * {@link AutoPlayer} örneğini ve rastgele kaynağını yeniden tohumlayarak kullanır, sonuçlar parça başına toplanıp
+ * ana iş parçacığında birleştirilir, sıcak yolda paylaşılan kilit yoktur.
+ * i. oyunun tohumu yalnızca kök tohumdan ve i'den türetilir; sonuçlar iş
+ * parçacığı sayısından bağımsız olarak tekrarlanabilir.
+ *
+ * Kullanım: MonteCarloApp [oyun sayısı] [iş parçacığı] [random|greedy|lookahead] [kök tohum]
+ */
+public class MonteCarloApp {
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final int BUCKET_WIDTH = 50;
+    private static final int BUCKETS = AutoPlayer.MAX_GAME_MOVES / BUCKET_WIDTH + 1;
+    private static final int BAR_WIDTH = 50;
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        AutoPlayer.Policy policy = args.length > 2 ? AutoPlayer.Policy.valueOf(args[2].toUpperCase(Locale.ROOT))
+                : AutoPlayer.Policy.GREEDY;
+        long rootSeed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+
+        ThreadLocal<AutoPlayer> players = ThreadLocal.withInitial(() -> new AutoPlayer(policy));
+        ThreadLocal<RandomSource.Reseedable> randoms = ThreadLocal.withInitial(() -> new RandomSource.Reseedable(0));
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        Stats total = new Stats();
+        long startTime = System.nanoTime();
+        try {
+            Deque<Future<Stats>> window = new ArrayDeque<>();
+            int maxPending = Math.max(1, threads) * 2;
+            for (long first = 0; first < games; first += CHUNK_SIZE) {
+                long from = first;
+                long to = Math.min(games, first + CHUNK_SIZE);
+                window.add(executor.submit(() -> playChunk(players.get(), randoms.get(), rootSeed, from, to)));
+                if (window.size() >= maxPending) {
+                    total.add(window.removeFirst().get());
+                }
+            }
+            while (!window.isEmpty()) {
+                total.add(window.removeFirst().get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        print(total, policy, rootSeed, threads, seconds);
+    }
+
+    /**
+     * i. oyunun dağıtım tohumu; SplittableRandom'un karıştırma fonksiyonu.
+     */
+    static long gameSeed(long rootSeed, long index) {
+        long z = rootSeed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static Stats playChunk(AutoPlayer player, RandomSource.Reseedable random, long rootSeed,
+                                   long from, long to) {
+        Stats stats = new Stats();
+        for (long i = from; i < to; i++) {
+            long seed = gameSeed(rootSeed, i);
+            random.reseed(~seed);
+            boolean won = player.play(seed, random);
+            int moves = player.getMoveCount();
+            stats.games++;
+            stats.moves += moves;
+            stats.histogram[Math.min(BUCKETS - 1, moves / BUCKET_WIDTH)]++;
+            if (won) {
+                stats.wins++;
+                stats.winMoves += moves;
+            }
+        }
+        return stats;
+    }
+
+    private static void print(Stats stats, AutoPlayer.Policy policy, long rootSeed, int threads, double seconds) {
+        double winRate = (double) stats.wins / Math.max(1, stats.games);
+        // Normal yaklaşımıyla %95 güven aralığı
+        double margin = 1.96 * Math.sqrt(winRate * (1 - winRate) / Math.max(1, stats.games));
+        System.out.println(String.format("Politika %s, kök tohum %d, %d iş parçacığı", policy, rootSeed, threads));
+        System.out.println(String.format("%,d oyun, %.2f s, %,.0f oyun/dk", stats.games, seconds, stats.games / seconds * 60));
+        System.out.println(String.format("Kazanma oranı: %.2f%% (± %.2f%%)", winRate * 100, margin * 100));
+        System.out.println(String.format("Ortalama hamle: %.1f (kazanılan oyunlarda %.1f)",
+                (double) stats.moves / Math.max(1, stats.games), (double) stats.winMoves / Math.max(1, stats.wins)));
+        System.out.println("Oyun uzunluğu dağılımı:");
+        long max = 1;
+        for (long count : stats.histogram) {
+            max = Math.max(max, count);
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            if (stats.histogram[i] == 0) {
+                continue;
+            }
+            String range = i == BUCKETS - 1 ? String.format("%d+", i * BUCKET_WIDTH)
+                    : String.format("%d-%d", i * BUCKET_WIDTH, (i + 1) * BUCKET_WIDTH - 1);
+            int bar = (int) (stats.histogram[i] * BAR_WIDTH / max);
+            System.out.println(String.format("%10s %10d %s", range, stats.histogram[i], "#".repeat(Math.max(1, bar))));
+        }
+    }
+
+    private static final class Stats {
+        final long[] histogram = new long[BUCKETS];
+        long games;
+        long wins;
+        long moves;
+        long winMoves;
+
+        void add(Stats other) {
+            games += other.games;
+            wins += other.wins;
+            moves += other.moves;
+            winMoves += other.winMoves;
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] += other.histogram[i];
+            }
+        }
+    }
+}
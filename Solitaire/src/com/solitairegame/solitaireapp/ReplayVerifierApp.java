@@ -0,0 +1,124 @@
+package com.solitairegame.solitaireapp;
+
+import com.solitairegame.model.ReplayVerifier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Tekrar dosyalarını kural motorunda yeniden oynayarak doğrulayan, arayüz
+ * açmadan çalışan giriş noktası.
+ *
+ * Dizin ağacı gezilirken dosyalar parçalar halinde iş parçacıklarına verilir;
+ * her iş parçacığı kendi {@link ReplayVerifier} örneğini kullanır ve sayaçlar
+ * parça sonuçlarından toplanır, böylece sıcak yolda paylaşılan kilit yoktur.
+ *
+ * Kullanım: ReplayVerifierApp [dosya veya dizin] [iş parçacığı]
+ */
+public class ReplayVerifierApp {
+
+    private static final int BATCH_SIZE = 512;
+    private static final int MAX_REPORTED_FAILURES = 20;
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        Path root = Paths.get(args.length > 0 ? args[0] : ".");
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        ThreadLocal<ReplayVerifier> verifiers = ThreadLocal.withInitial(ReplayVerifier::new);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        long[] totals = new long[ReplayVerifier.Status.values().length];
+        long moves = 0;
+        List<String> failures = new ArrayList<>();
+        long startTime = System.nanoTime();
+
+        try (Stream<Path> files = Files.walk(root)) {
+            Iterator<Path> iterator = files.filter(path -> path.toString().endsWith(".replay")).iterator();
+            // En fazla threads*2 parça bekler; milyonlarca dosyalık dizinlerde yol listesi belleğe dolmaz
+            Deque<Future<BatchResult>> window = new ArrayDeque<>();
+            int maxPending = Math.max(1, threads) * 2;
+            while (iterator.hasNext()) {
+                List<Path> batch = new ArrayList<>(BATCH_SIZE);
+                while (iterator.hasNext() && batch.size() < BATCH_SIZE) {
+                    batch.add(iterator.next());
+                }
+                window.add(executor.submit(() -> verifyBatch(verifiers.get(), batch)));
+                if (window.size() >= maxPending) {
+                    moves += merge(window.removeFirst().get(), totals, failures);
+                }
+            }
+            while (!window.isEmpty()) {
+                moves += merge(window.removeFirst().get(), totals, failures);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        long games = 0;
+        for (long total : totals) {
+            games += total;
+        }
+        for (String failure : failures) {
+            System.out.println(failure);
+        }
+        for (ReplayVerifier.Status status : ReplayVerifier.Status.values()) {
+            System.out.println(String.format("%-13s %,d", status, totals[status.ordinal()]));
+        }
+        System.out.println(String.format("%,d oyun, %,d hamle, %.2f s: %,.0f oyun/s, %,.0f hamle/s (%d iş parçacığı)",
+                games, moves, seconds, games / seconds, moves / seconds, threads));
+        if (totals[ReplayVerifier.Status.ILLEGAL_MOVE.ordinal()] + totals[ReplayVerifier.Status.CORRUPT.ordinal()] > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static BatchResult verifyBatch(ReplayVerifier verifier, List<Path> batch) {
+        BatchResult result = new BatchResult();
+        for (Path path : batch) {
+            ReplayVerifier.Status status;
+            try {
+                status = verifier.verify(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(path.toString(), e);
+            }
+            result.counts[status.ordinal()]++;
+            result.moves += verifier.getMoveCount();
+            if ((status == ReplayVerifier.Status.ILLEGAL_MOVE || status == ReplayVerifier.Status.CORRUPT)
+                    && result.failures.size() < MAX_REPORTED_FAILURES) {
+                result.failures.add(status + " " + path + " (tohum " + verifier.getSeed()
+                        + (status == ReplayVerifier.Status.ILLEGAL_MOVE ? ", hamle " + verifier.getFailedMove() : "") + ")");
+            }
+        }
+        return result;
+    }
+
+    private static long merge(BatchResult result, long[] totals, List<String> failures) {
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] += result.counts[i];
+        }
+        for (String failure : result.failures) {
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(failure);
+            }
+        }
+        return result.moves;
+    }
+
+    private static final class BatchResult {
+        final long[] counts = new long[ReplayVerifier.Status.values().length];
+        final List<String> failures = new ArrayList<>();
+        long moves;
+    }
+}
@@ -15,6 +15,8 @@ import java.awt.Image;
 import java.awt.Toolkit;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.net.URL;
 import java.awt.BorderLayout;
 import java.awt.Color;
@@ -47,7 +49,17 @@ public class SolitaireApp extends JFrame {
             e.printStackTrace();
         }
 
-        JLayeredPane layeredPane = new JLayeredPane();
+        // Tahta pencerenin menü paneli dışında kalan tüm alanını kaplar; pencere
+        // büyütüldüğünde kartlar yeni boyuta göre yerleşir
+        JLayeredPane layeredPane = new JLayeredPane() {
+            @Override
+            public void doLayout() {
+                int boardWidth = Math.max(0, getWidth() - GameMenuPanel.PREFERRED_WIDTH);
+                gameBoard.setBounds(0, 0, boardWidth, getHeight());
+                menuPanel.setBounds(boardWidth, 0, GameMenuPanel.PREFERRED_WIDTH, getHeight());
+                gameMain.setBounds(0, 0, boardWidth, getHeight());
+            }
+        };
         layeredPane.setPreferredSize(new Dimension(
             GameBoard.PREFERRED_WIDTH + GameMenuPanel.PREFERRED_WIDTH,
             GameBoard.PREFERRED_HEIGHT
@@ -63,13 +75,8 @@ public class SolitaireApp extends JFrame {
         titleBar = new SolitaireTitleBar(this, "Java Solitaire");
 
         layeredPane.add(gameBoard, JLayeredPane.DEFAULT_LAYER);
-        gameBoard.setBounds(0, 0, GameBoard.PREFERRED_WIDTH, GameBoard.PREFERRED_HEIGHT);
-
         layeredPane.add(menuPanel, JLayeredPane.DEFAULT_LAYER);
-        menuPanel.setBounds(GameBoard.PREFERRED_WIDTH, 0, GameMenuPanel.PREFERRED_WIDTH, GameBoard.PREFERRED_HEIGHT);
-
         layeredPane.add(gameMain, JLayeredPane.PALETTE_LAYER);
-        gameMain.setBounds(0, 0, GameBoard.PREFERRED_WIDTH, GameBoard.PREFERRED_HEIGHT);
 
         setLayout(new BorderLayout());
         add(titleBar, BorderLayout.NORTH);
@@ -92,6 +99,14 @@ public class SolitaireApp extends JFrame {
                 }
             }
         });
+        // Pencere sistemden kapatılırsa da (Alt+F4 vb.) oyunu kaydet
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                gameBoard.saveGame();
+            }
+        });
+
         setFocusable(true);
         requestFocusInWindow();
 
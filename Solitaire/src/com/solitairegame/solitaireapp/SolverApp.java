@@ -0,0 +1,45 @@
+package com.solitairegame.solitaireapp;
+
+import com.solitairegame.model.Deck;
+import com.solitairegame.model.GameState;
+import com.solitairegame.model.ParallelSolver;
+import com.solitairegame.model.RandomSource;
+
+/**
+ * Paralel çözücünün tek iş parçacıklı çözücüye göre hızlanmasını ölçen,
+ * arayüz açmadan çalışan giriş noktası.
+ *
+ * Kullanım: SolverApp [dağıtım sayısı] [iş parçacığı] [düğüm sınırı] [süre sınırı ms] [tohum,tohum,...]
+ *
+ * Tohum listesi verilirse rastgele dağıtımlar yerine bu dağıtımlar çözülür;
+ * sınırsız aramada tablonun dolduğu bilinen dağıtımlar (örneğin 11,19) böyle
+ * yeniden denenir. Sınırlar için 0 sınırsız demektir.
+ */
+public class SolverApp {
+
+    public static void main(String[] args) {
+        int deals = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long nodeLimit = args.length > 2 ? Long.parseLong(args[2]) : 5_000_000;
+        long timeLimitMillis = args.length > 3 ? Long.parseLong(args[3]) : 60_000;
+
+        long[] seeds = null;
+        if (args.length > 4) {
+            String[] parts = args[4].split(",");
+            seeds = new long[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                seeds[i] = Long.parseLong(parts[i].trim());
+            }
+            deals = seeds.length;
+        }
+
+        ParallelSolver solver = new ParallelSolver(nodeLimit, timeLimitMillis, threads);
+        RandomSource random = RandomSource.random();
+        for (int i = 0; i < deals; i++) {
+            long seed = seeds != null ? seeds[i] : random.nextLong();
+            GameState state = GameState.deal(new Deck(seed));
+            System.out.println("Dağıtım " + (i + 1) + " (tohum " + seed + "):");
+            System.out.println(solver.speedupReport(state));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.solitairegame.view;
+
+import javax.swing.Timer;
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tahtadaki tüm animasyonları ekran yenileme hızında çalışan tek bir
+ * zamanlayıcıyla süren zamanlayıcı.
+ *
+ * Her geçişin (tween) ilerlemesi System.nanoTime() ile başlangıcından geçen
+ * süreden hesaplanır; zamanlayıcı gecikse bile kartlar doğru konumda çizilir.
+ * Etkin geçiş kalmadığında zamanlayıcı durur. Tüm çağrılar olay iş
+ * parçacığından yapılmalıdır.
+ */
+final class Animator {
+
+    /**
+     * Belirli bir süre boyunca her karede ilerleyen geçiş.
+     */
+    abstract static class Tween {
+        private final long delayNanos;
+        private final long durationNanos;
+        private long startNanos;
+        private boolean started;
+        private boolean done;
+
+        /**
+         * @param delayNanos    Eklendikten sonra başlamadan önce beklenecek süre.
+         * @param durationNanos Geçişin süresi.
+         */
+        Tween(long delayNanos, long durationNanos) {
+            this.delayNanos = delayNanos;
+            this.durationNanos = Math.max(1, durationNanos);
+        }
+
+        /**
+         * Her karede çağrılır.
+         *
+         * @param progress 0 ile 1 arasında ilerleme.
+         */
+        abstract void update(double progress);
+
+        /** İlerleme 1'e ulaştığında bir kez çağrılır. */
+        void finish() {
+        }
+
+        /**
+         * @return Geçiş başladı ve henüz bitmediyse true.
+         */
+        boolean isRunning() {
+            return started && !done;
+        }
+    }
+
+    private final long frameIntervalNanos = frameIntervalNanos();
+    private final Timer timer;
+    private final List<Tween> tweens = new ArrayList<>();
+
+    private long lastTickNanos; // 0 ise zamanlayıcı boşta
+    private long lastTickWorkNanos;
+    private long paintNanos; // Son karede çizime harcanan süre
+    private long frames;
+    private long droppedFrames;
+    private final LatencyHistogram frameTime = new LatencyHistogram();
+
+    Animator() {
+        timer = new Timer((int) Math.max(1, frameIntervalNanos / 1_000_000), e -> tick());
+        timer.setCoalesce(true);
+    }
+
+    /**
+     * Geçişi ekler ve gerekiyorsa zamanlayıcıyı başlatır. Gecikmesiz geçiş
+     * hemen 0 ilerlemesiyle güncellenir. Bitmiş bir geçiş yeniden başlatılabilir.
+     */
+    void start(Tween tween) {
+        long now = System.nanoTime();
+        tween.startNanos = now + tween.delayNanos;
+        tween.started = false;
+        tween.done = false;
+        tweens.add(tween);
+        advance(tween, now);
+        if (!timer.isRunning()) {
+            lastTickNanos = 0;
+            timer.start();
+        }
+    }
+
+    /**
+     * Tüm geçişleri son karelerine getirip bitirir; örneğin oyuncu yeni bir
+     * hamleye başladığında havadaki kartlar hemen yerine oturur.
+     */
+    void finishAll() {
+        // Bitirme çağrıları yeni geçiş ekleyebilir; onlar da bitirilir
+        while (!tweens.isEmpty()) {
+            Tween tween = tweens.remove(0);
+            tween.started = true;
+            tween.update(1);
+            tween.done = true;
+            tween.finish();
+        }
+        timer.stop();
+    }
+
+    /**
+     * Geçişi bitirme çağrısı yapılmadan durdurur.
+     */
+    void cancel(Tween tween) {
+        tween.done = true;
+        tweens.remove(tween);
+        if (tweens.isEmpty()) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Tüm geçişleri bitirme çağrıları yapılmadan atar.
+     */
+    void cancelAll() {
+        for (Tween tween : tweens) {
+            tween.done = true;
+        }
+        tweens.clear();
+        timer.stop();
+    }
+
+    boolean isActive() {
+        return !tweens.isEmpty();
+    }
+
+    /**
+     * Animasyon sürerken çizilen karenin çizim süresini o kareye ekler.
+     */
+    void addPaintTime(long nanos) {
+        paintNanos += nanos;
+    }
+
+    /**
+     * @return Animasyon sürerken üretilen kare sayısı; atlanan karelerin oranı buna göre okunur.
+     */
+    long getFrameCount() {
+        return frames;
+    }
+
+    /**
+     * @return Zamanlayıcının geç kalması yüzünden hiç üretilmeyen kare sayısı.
+     */
+    long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * @return Kare başına geçiş güncellemesi ve çizime harcanan sürelerin histogramı.
+     */
+    LatencyHistogram getFrameTime() {
+        return frameTime;
+    }
+
+    long getFrameIntervalNanos() {
+        return frameIntervalNanos;
+    }
+
+    void resetStats() {
+        frames = 0;
+        droppedFrames = 0;
+        frameTime.reset();
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        if (lastTickNanos != 0) {
+            frameTime.record(lastTickWorkNanos + paintNanos);
+            long missed = (now - lastTickNanos + frameIntervalNanos / 2) / frameIntervalNanos - 1;
+            if (missed > 0) {
+                droppedFrames += missed;
+            }
+        }
+        lastTickNanos = now;
+        paintNanos = 0;
+        frames++;
+
+        // Bitirme çağrılarının eklediği geçişler de aynı karede güncellenir
+        for (int i = 0; i < tweens.size(); i++) {
+            advance(tweens.get(i), now);
+        }
+        tweens.removeIf(tween -> tween.done);
+        if (tweens.isEmpty()) {
+            timer.stop();
+        }
+        lastTickWorkNanos = System.nanoTime() - now;
+    }
+
+    private static void advance(Tween tween, long now) {
+        if (tween.done || now < tween.startNanos) {
+            return;
+        }
+        tween.started = true;
+        double progress = Math.min(1.0, (double) (now - tween.startNanos) / tween.durationNanos);
+        tween.update(progress);
+        if (progress >= 1.0) {
+            tween.done = true;
+            tween.finish();
+        }
+    }
+
+    /**
+     * Ekranın yenileme aralığı; bilinmiyorsa veya ekran yoksa 60 Hz varsayılır.
+     */
+    static long frameIntervalNanos() {
+        int refreshRate = DisplayMode.REFRESH_RATE_UNKNOWN;
+        if (!GraphicsEnvironment.isHeadless()) {
+            refreshRate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDisplayMode().getRefreshRate();
+        }
+        return 1_000_000_000L / (refreshRate > 0 ? refreshRate : 60);
+    }
+}
@@ -0,0 +1,242 @@
+package com.solitairegame.view;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Bir görüntünün giderek küçülen ve bulanıklaşan kopyalarından oluşan zincir.
+ *
+ * Her seviye bir öncekinin yarı çözünürlüğe indirilip (2×2 ortalama) kayan
+ * toplamlı kutu filtresiyle bulanıklaştırılmasıyla elde edilir; tüm işlem
+ * ham int[] pikseller üzerinde, seviye başına sabit maliyetle yapılır. İlk
+ * seviye yalnızca küçültülür: en pahalı seviye odur ve büyütülürken zaten
+ * yumuşar, asıl bulanıklık düşük çözünürlükte verilir.
+ * Seviyeler çizilirken panel boyutuna çift doğrusal (bilinear) büyütülür;
+ * komşu iki seviye harmanlanarak bulanıklık şiddeti kesintisiz değiştirilebilir.
+ *
+ * Tüm ara diziler ve seviye görüntüleri saklanır; aynı boyutta görüntüyle
+ * yeniden {@link #update(BufferedImage)} çağrısı hiç bellek ayırmaz.
+ */
+public final class BlurPyramid {
+
+    private static final int RADIUS = 2; // Her seviyedeki kutu filtresinin yarıçapı (piksel)
+    private static final int PASSES = 2; // İki kutu geçişi üçgen, Gauss'a yakın bir çekirdek verir
+
+    private final BufferedImage[] levels;
+    private final int[][] levelPixels;
+
+    private int sourceWidth; // Ara dizilerin hazırlandığı görüntü boyutu
+    private int sourceHeight;
+    private int imageType;
+    private int[] sourcePixels;
+    private int[] scratch;
+    private int[] alphaSums; // Dikey geçişin sütun toplamları
+    private int[] redSums;
+    private int[] greenSums;
+    private int[] blueSums;
+
+    /**
+     * @param levelCount Seviye sayısı; son seviye görüntünün 1/2^levelCount boyutundadır.
+     */
+    public BlurPyramid(int levelCount) {
+        levels = new BufferedImage[levelCount];
+        levelPixels = new int[levelCount][];
+    }
+
+    /**
+     * Zinciri verilen görüntüden yeniden hesaplar. Görüntünün boyutu öncekiyle
+     * aynıysa mevcut diziler ve seviye görüntüleri yeniden kullanılır.
+     */
+    public void update(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        allocate(width, height, image.getTransparency() == BufferedImage.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = sourcePixels;
+        if (image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_INT_ARGB) {
+            image.getRaster().getDataElements(0, 0, width, height, pixels);
+        } else {
+            image.getRGB(0, 0, width, height, pixels, 0, width);
+        }
+
+        for (int level = 0; level < levels.length; level++) {
+            int smallWidth = levels[level].getWidth();
+            int smallHeight = levels[level].getHeight();
+            downsample(pixels, width, height, levelPixels[level], smallWidth, smallHeight);
+            pixels = levelPixels[level];
+            width = smallWidth;
+            height = smallHeight;
+            for (int pass = 0; level > 0 && pass < PASSES; pass++) {
+                blurHorizontal(pixels, scratch, width, height, RADIUS);
+                blurVertical(scratch, pixels, width, height, RADIUS);
+            }
+            levels[level].getRaster().setDataElements(0, 0, width, height, pixels);
+        }
+    }
+
+    /**
+     * Görüntü boyutu veya türü değiştiyse ara dizileri ve seviye görüntülerini yeniden ayırır.
+     */
+    private void allocate(int width, int height, int type) {
+        if (sourcePixels != null && width == sourceWidth && height == sourceHeight && type == imageType) {
+            return;
+        }
+        sourceWidth = width;
+        sourceHeight = height;
+        imageType = type;
+        sourcePixels = new int[width * height];
+        for (int level = 0; level < levels.length; level++) {
+            width = Math.max(1, width / 2);
+            height = Math.max(1, height / 2);
+            levels[level] = new BufferedImage(width, height, type);
+            levelPixels[level] = new int[width * height];
+        }
+        // Bulanıklaştırılan en büyük seviye ikincisidir; tek seviyede hiç gerekmez
+        int blurred = levels.length > 1 ? 1 : 0;
+        scratch = new int[levelPixels[blurred].length];
+        int columns = levels[blurred].getWidth();
+        alphaSums = new int[columns];
+        redSums = new int[columns];
+        greenSums = new int[columns];
+        blueSums = new int[columns];
+    }
+
+    /**
+     * Zinciri verilen alana çizer.
+     *
+     * @param strength 0 hiç bulanıklık yok (hiçbir şey çizilmez), 1 en bulanık seviye.
+     */
+    public void paint(Graphics2D g2d, int width, int height, double strength) {
+        double position = Math.max(0, Math.min(1, strength)) * levels.length;
+        int lower = (int) position; // Tam çizilecek seviye sayısı (1 tabanlı)
+        float fraction = (float) (position - lower);
+        Object interpolation = g2d.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        if (lower > 0) {
+            g2d.drawImage(levels[lower - 1], 0, 0, width, height, null);
+        }
+        if (lower < levels.length && fraction > 0) {
+            // Bir sonraki, daha bulanık seviye kesirli kısım kadar üstüne harmanlanır
+            Composite composite = g2d.getComposite();
+            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, fraction));
+            g2d.drawImage(levels[lower], 0, 0, width, height, null);
+            g2d.setComposite(composite);
+        }
+        if (interpolation != null) {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        }
+    }
+
+    /**
+     * Her çıktı pikseli kaynaktaki 2×2 bloğun kanal ortalamasıdır; tek boyutlarda son satır/sütun tekrarlanır.
+     */
+    private static void downsample(int[] src, int width, int height, int[] dst, int smallWidth, int smallHeight) {
+        for (int y = 0; y < smallHeight; y++) {
+            int row0 = Math.min(2 * y, height - 1) * width;
+            int row1 = Math.min(2 * y + 1, height - 1) * width;
+            for (int x = 0; x < smallWidth; x++) {
+                int x0 = Math.min(2 * x, width - 1);
+                int x1 = Math.min(2 * x + 1, width - 1);
+                int a = src[row0 + x0];
+                int b = src[row0 + x1];
+                int c = src[row1 + x0];
+                int d = src[row1 + x1];
+                int alpha = ((a >>> 24) + (b >>> 24) + (c >>> 24) + (d >>> 24) + 2) >> 2;
+                int red = (((a >> 16) & 0xFF) + ((b >> 16) & 0xFF) + ((c >> 16) & 0xFF) + ((d >> 16) & 0xFF) + 2) >> 2;
+                int green = (((a >> 8) & 0xFF) + ((b >> 8) & 0xFF) + ((c >> 8) & 0xFF) + ((d >> 8) & 0xFF) + 2) >> 2;
+                int blue = ((a & 0xFF) + (b & 0xFF) + (c & 0xFF) + (d & 0xFF) + 2) >> 2;
+                dst[y * smallWidth + x] = (alpha << 24) | (red << 16) | (green << 8) | blue;
+            }
+        }
+    }
+
+    /**
+     * Yatay kutu filtresi; pencere toplamı her adımda bir piksel eklenip biri
+     * çıkarılarak güncellenir, maliyet yarıçaptan bağımsızdır. Kenarlar tekrarlanır.
+     */
+    private static void blurHorizontal(int[] src, int[] dst, int width, int height, int radius) {
+        int scale = reciprocal(radius);
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            int alpha = 0, red = 0, green = 0, blue = 0;
+            for (int i = -radius; i <= radius; i++) {
+                int p = src[row + clamp(i, width)];
+                alpha += p >>> 24;
+                red += (p >> 16) & 0xFF;
+                green += (p >> 8) & 0xFF;
+                blue += p & 0xFF;
+            }
+            for (int x = 0; x < width; x++) {
+                dst[row + x] = pack(alpha, red, green, blue, scale);
+                int in = src[row + clamp(x + radius + 1, width)];
+                int out = src[row + clamp(x - radius, width)];
+                alpha += (in >>> 24) - (out >>> 24);
+                red += ((in >> 16) & 0xFF) - ((out >> 16) & 0xFF);
+                green += ((in >> 8) & 0xFF) - ((out >> 8) & 0xFF);
+                blue += (in & 0xFF) - (out & 0xFF);
+            }
+        }
+    }
+
+    /**
+     * Dikey kutu filtresi; {@link #blurHorizontal} ile aynı kayan toplam. Her
+     * sütunun toplamı ayrı tutulur ve görüntü satır satır gezilir, böylece
+     * bellek sırayla okunur.
+     */
+    private void blurVertical(int[] src, int[] dst, int width, int height, int radius) {
+        int scale = reciprocal(radius);
+        int[] alpha = alphaSums;
+        int[] red = redSums;
+        int[] green = greenSums;
+        int[] blue = blueSums;
+        Arrays.fill(alpha, 0, width, 0);
+        Arrays.fill(red, 0, width, 0);
+        Arrays.fill(green, 0, width, 0);
+        Arrays.fill(blue, 0, width, 0);
+        for (int i = -radius; i <= radius; i++) {
+            int row = clamp(i, height) * width;
+            for (int x = 0; x < width; x++) {
+                int p = src[row + x];
+                alpha[x] += p >>> 24;
+                red[x] += (p >> 16) & 0xFF;
+                green[x] += (p >> 8) & 0xFF;
+                blue[x] += p & 0xFF;
+            }
+        }
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            int inRow = clamp(y + radius + 1, height) * width;
+            int outRow = clamp(y - radius, height) * width;
+            for (int x = 0; x < width; x++) {
+                dst[row + x] = pack(alpha[x], red[x], green[x], blue[x], scale);
+                int in = src[inRow + x];
+                int out = src[outRow + x];
+                alpha[x] += (in >>> 24) - (out >>> 24);
+                red[x] += ((in >> 16) & 0xFF) - ((out >> 16) & 0xFF);
+                green[x] += ((in >> 8) & 0xFF) - ((out >> 8) & 0xFF);
+                blue[x] += (in & 0xFF) - (out & 0xFF);
+            }
+        }
+    }
+
+    private static int clamp(int index, int length) {
+        return index < 0 ? 0 : index >= length ? length - 1 : index;
+    }
+
+    /**
+     * Pencere boyutunun 16 bitlik sabit noktalı tersi; piksel başına bölme yerine çarpma yapılır.
+     */
+    private static int reciprocal(int radius) {
+        return ((1 << 16) + radius) / (2 * radius + 1);
+    }
+
+    private static int pack(int alpha, int red, int green, int blue, int scale) {
+        int half = 1 << 15; // Yuvarlama
+        return ((alpha * scale + half) >>> 16 << 24) | ((red * scale + half) >>> 16 << 16)
+                | ((green * scale + half) >>> 16 << 8) | ((blue * scale + half) >>> 16);
+    }
+}
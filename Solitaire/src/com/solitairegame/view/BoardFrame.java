@@ -0,0 +1,62 @@
+package com.solitairegame.view;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tahtanın bir anki görünümünün değişmez kopyası; etkin çizim kipinde olay iş
+ * parçacığında hazırlanıp çizim iş parçacığına verilir.
+ *
+ * Kare yalnızca aygıt pikseli koordinatları ve kart atlası tutar; çizim
+ * sırasında oyun durumuna, sahneye veya yerleşime dokunulmaz. Kazanma
+ * kutlamasının izi de canlı görüntü değil, {@link BoardRenderer} kopyasıdır;
+ * kare çizilirken üzerine basılmaz.
+ */
+final class BoardFrame {
+
+    private final int width; // Aygıt pikseli
+    private final int height;
+    private final Color background;
+    private final CardSprites sprites;
+    private final int[] slots; // Her yuva için deste, x, y
+    private final int[] cards; // z sırasıyla her kart için kod, x, y, çizilen yükseklik (tahta birimi)
+    private final BufferedImage trail; // Kutlama sürerken tahtanın yerine çizilir; yoksa null
+
+    BoardFrame(int width, int height, Color background, CardSprites sprites, int[] slots, int[] cards,
+               BufferedImage trail) {
+        this.width = width;
+        this.height = height;
+        this.background = background;
+        this.sprites = sprites;
+        this.slots = slots;
+        this.cards = cards;
+        this.trail = trail;
+    }
+
+    BufferedImage getTrail() {
+        return trail;
+    }
+
+    /**
+     * Kareyi aygıt pikseli koordinatlarıyla (ölçeksiz grafiğe) çizer.
+     */
+    void paint(Graphics2D g2d) {
+        if (trail != null) {
+            g2d.drawImage(trail, 0, 0, null);
+            return;
+        }
+        g2d.setColor(background);
+        g2d.fillRect(0, 0, width, height);
+        for (int i = 0; i < slots.length; i += 3) {
+            sprites.drawPileSlot(g2d, slots[i], slots[i + 1], slots[i + 2]);
+        }
+        for (int i = 0; i < cards.length; i += 4) {
+            if (cards[i + 3] < BoardLayout.CARD_HEIGHT) {
+                sprites.drawCardTop(g2d, cards[i], cards[i + 1], cards[i + 2], cards[i + 3]);
+            } else {
+                sprites.drawCard(g2d, cards[i], cards[i + 1], cards[i + 2]);
+            }
+        }
+    }
+}
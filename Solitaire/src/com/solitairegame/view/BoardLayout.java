@@ -0,0 +1,253 @@
+package com.solitairegame.view;
+
+import com.solitairegame.model.GameState;
+
+import java.awt.Rectangle;
+
+/**
+ * Tahta koordinatlarını panelin o anki boyutuna ve ekranın ölçeğine eşleyen yerleşim.
+ *
+ * Destelerin yerleri 750×600'lük sabit tahta koordinatlarında tanımlıdır. Panel
+ * büyüdükçe tahta, genişliğe ve yüksekliğe sığacak şekilde eşit oranda
+ * büyütülür ve yatayda ortalanır; yükseklikte artan alan tableau destelerine
+ * kalır. Çizim aygıt pikselinde yapılır: tahta noktası, büyütme ve ekran
+ * ölçeği (HiDPI) çarpılıp tam piksele yuvarlanır; böylece kart atlası
+ * yeniden örneklenmeden 1:1 kopyalanır.
+ *
+ * Desteler yedi eşit aralıklı sütuna dizilidir: üst sırada hedefler, atık ve
+ * stok, altta tableau desteleri. Bu yüzden bir noktanın hangi desteye ve
+ * karta denk geldiği desteler taranmadan, sütun ve satır hesabıyla bulunur.
+ */
+final class BoardLayout {
+
+    // Büyütme bu adımlara yuvarlanır; pencere boyutlanırken atlas her pikselde yeniden çizilmez
+    private static final double ZOOM_STEP = 0.05;
+    private static final double MIN_ZOOM = 0.5;
+
+    static final int CARD_WIDTH = 73;
+    static final int CARD_HEIGHT = 98;
+    static final int CARD_OVERLAP_Y = 20; // Tableau'da üstü örtülen kartın görünen şeridi
+    static final int COLUMN_COUNT = 7;
+    private static final int COLUMN_STEP = CARD_WIDTH + 20; // Komşu sütunların sol kenarları arası
+    private static final int COLUMN_X = 50; // İlk sütunun sol kenarı
+    private static final int TOP_ROW_Y = 30; // Hedefler, atık ve stok
+    private static final int TABLEAU_Y = 150;
+    // Üst sıradaki sütunların destesi; beşinci sütun boştur
+    private static final int[] TOP_ROW = {
+        GameState.FOUNDATION, GameState.FOUNDATION + 1, GameState.FOUNDATION + 2, GameState.FOUNDATION + 3,
+        -1, GameState.WASTE, GameState.STOCK
+    };
+
+    private static final int[] PILE_X = new int[GameState.PILE_COUNT]; // Destelerin ilk kartının sol üst köşesi
+    private static final int[] PILE_Y = new int[GameState.PILE_COUNT];
+
+    static {
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            if (TOP_ROW[column] >= 0) {
+                PILE_X[TOP_ROW[column]] = COLUMN_X + column * COLUMN_STEP;
+                PILE_Y[TOP_ROW[column]] = TOP_ROW_Y;
+            }
+            PILE_X[GameState.TABLEAU + column] = COLUMN_X + column * COLUMN_STEP;
+            PILE_Y[GameState.TABLEAU + column] = TABLEAU_Y;
+        }
+    }
+
+    private final int boardWidth; // Tahtanın kendi koordinatlarındaki boyutu
+    private final int boardHeight;
+
+    private int width; // Panelin boyutu (mantıksal piksel)
+    private int height;
+    private double zoom = 1;
+    private double deviceScale = 1;
+    private int offsetX; // Ortalanan tahtanın paneldeki sol kenarı (mantıksal piksel)
+
+    BoardLayout(int boardWidth, int boardHeight) {
+        this.boardWidth = boardWidth;
+        this.boardHeight = boardHeight;
+    }
+
+    /**
+     * Panel boyutunu günceller.
+     *
+     * @return Tahtanın büyütmesi veya konumu değiştiyse true.
+     */
+    boolean setSize(int width, int height) {
+        double oldZoom = zoom;
+        int oldOffsetX = offsetX;
+        this.width = width;
+        this.height = height;
+        if (width > 0 && height > 0) {
+            double fit = Math.min((double) width / boardWidth, (double) height / boardHeight);
+            zoom = Math.max(MIN_ZOOM, Math.floor(fit / ZOOM_STEP + 1e-9) * ZOOM_STEP);
+            offsetX = Math.max(0, (int) ((width - boardWidth * zoom) / 2));
+        }
+        return zoom != oldZoom || offsetX != oldOffsetX;
+    }
+
+    /**
+     * Çizim yüzeyinin ekran ölçeğini günceller (ör. %200 ekranda 2).
+     *
+     * @return Ölçek değiştiyse true.
+     */
+    boolean setDeviceScale(double deviceScale) {
+        if (this.deviceScale == deviceScale) {
+            return false;
+        }
+        this.deviceScale = deviceScale;
+        return true;
+    }
+
+    double getZoom() {
+        return zoom;
+    }
+
+    double getDeviceScale() {
+        return deviceScale;
+    }
+
+    /**
+     * @return Bir tahta biriminin aygıt pikseli karşılığı; kart atlası bu ölçekte çizilir.
+     */
+    double getScale() {
+        return zoom * deviceScale;
+    }
+
+    /**
+     * @return Panelin alt kenarının tahta koordinatı; tableau desteleri buraya kadar uzayabilir.
+     */
+    int getVisibleBoardHeight() {
+        return (int) Math.ceil(height / zoom);
+    }
+
+    /**
+     * @return Panelde görünen tüm alan, tahta koordinatlarında.
+     */
+    Rectangle getVisibleBoardBounds() {
+        int left = (int) Math.floor(-offsetX / zoom);
+        return new Rectangle(left, 0, (int) Math.ceil(width / zoom) - left + 1, getVisibleBoardHeight() + 1);
+    }
+
+    /** Destedeki kartın sol kenarı (tahta koordinatı). */
+    static int cardX(int pile) {
+        return PILE_X[pile];
+    }
+
+    /** Destedeki kartın üst kenarı (tahta koordinatı); yalnızca tableau kartları kayar. */
+    static int cardY(int pile, int index) {
+        return GameState.isTableau(pile) ? PILE_Y[pile] + index * CARD_OVERLAP_Y : PILE_Y[pile];
+    }
+
+    /**
+     * @return Tahta noktasının üzerindeki deste veya boşluğa denk geliyorsa -1.
+     *         Tableau sütunu, destenin boyundan bağımsız olarak aşağı doğru uzanır.
+     */
+    static int pileAt(int x, int y) {
+        int column = Math.floorDiv(x - COLUMN_X, COLUMN_STEP);
+        if (column < 0 || column >= COLUMN_COUNT || x - COLUMN_X - column * COLUMN_STEP > CARD_WIDTH) {
+            return -1; // Sütunlar arasındaki boşluk
+        }
+        if (y >= TABLEAU_Y) {
+            return GameState.TABLEAU + column;
+        }
+        return y >= TOP_ROW_Y && y <= TOP_ROW_Y + CARD_HEIGHT ? TOP_ROW[column] : -1;
+    }
+
+    /**
+     * {@link #pileAt(int, int)} ile bulunan destede noktanın üzerindeki kart.
+     *
+     * @param size Destedeki kart sayısı.
+     * @return Kartın sırası veya nokta hiçbir kartın üzerinde değilse -1.
+     */
+    static int cardAt(int pile, int size, int y) {
+        if (size == 0) {
+            return -1;
+        }
+        if (!GameState.isTableau(pile)) {
+            return size - 1; // Yalnızca üstteki kart görünür
+        }
+        // Üstü örtülen kartların yalnızca şeridi, en üsttekinin tamamı görünür
+        int index = Math.min((y - TABLEAU_Y) / CARD_OVERLAP_Y, size - 1);
+        return y <= cardY(pile, index) + CARD_HEIGHT ? index : -1;
+    }
+
+    /**
+     * @return x'i içeren sütun; tahtanın solunda negatif, sağında {@link #COLUMN_COUNT} veya büyük.
+     */
+    static int columnAt(int x) {
+        return Math.floorDiv(x - COLUMN_X, COLUMN_STEP);
+    }
+
+    /**
+     * @return Sütunun üst sırasındaki deste veya boşsa -1.
+     */
+    static int topRowPile(int column) {
+        return TOP_ROW[column];
+    }
+
+    /**
+     * Sol üst köşesi (x, y) olan kartın, destenin bırakma alanıyla kesişim alanı.
+     * Tableau'da bu alan sütunun tepesinden yeni kartın konacağı yerin altına
+     * kadar uzanır; diğer destelerde kart yuvasıdır.
+     *
+     * @param size Destede görünen kart sayısı.
+     */
+    static int dropOverlap(int pile, int size, int x, int y) {
+        int left = PILE_X[pile];
+        int top = PILE_Y[pile];
+        int bottom = GameState.isTableau(pile) ? cardY(pile, size) + CARD_HEIGHT : top + CARD_HEIGHT;
+        int width = Math.min(x + CARD_WIDTH, left + CARD_WIDTH) - Math.max(x, left);
+        int height = Math.min(y + CARD_HEIGHT, bottom) - Math.max(y, top);
+        return width > 0 && height > 0 ? width * height : 0;
+    }
+
+    /** Paneldeki fare konumunun tahta koordinatı. */
+    int toBoardX(int x) {
+        return (int) Math.floor((x - offsetX) / zoom);
+    }
+
+    /** Paneldeki fare konumunun tahta koordinatı. */
+    int toBoardY(int y) {
+        return (int) Math.floor(y / zoom);
+    }
+
+    /** Tahta noktasının panel içindeki aygıt pikseli. */
+    int deviceX(int x) {
+        return (int) Math.round((offsetX + x * zoom) * deviceScale);
+    }
+
+    /** Tahta noktasının panel içindeki aygıt pikseli. */
+    int deviceY(int y) {
+        return (int) Math.round(y * zoom * deviceScale);
+    }
+
+    /**
+     * @return Tahta koordinatlarındaki alanı kapsayan aygıt pikseli dikdörtgeni.
+     */
+    Rectangle toDevice(Rectangle area) {
+        int left = deviceX(area.x);
+        int top = deviceY(area.y);
+        return new Rectangle(left, top, deviceX(area.x + area.width) - left, deviceY(area.y + area.height) - top);
+    }
+
+    /**
+     * @return Aygıt pikseli dikdörtgenini kapsayan tahta koordinatı dikdörtgeni.
+     */
+    Rectangle toBoard(Rectangle device) {
+        int left = (int) Math.floor((device.x / deviceScale - offsetX) / zoom);
+        int top = (int) Math.floor(device.y / deviceScale / zoom);
+        int right = (int) Math.ceil(((device.x + device.width) / deviceScale - offsetX) / zoom);
+        int bottom = (int) Math.ceil((device.y + device.height) / deviceScale / zoom);
+        return new Rectangle(left, top, right - left, bottom - top);
+    }
+
+    /**
+     * @return Tahta koordinatlarındaki alanı kapsayan panel dikdörtgeni; yeniden çizim istekleri için.
+     */
+    Rectangle toComponent(Rectangle area) {
+        int left = (int) Math.floor(offsetX + area.x * zoom);
+        int top = (int) Math.floor(area.y * zoom);
+        int right = (int) Math.ceil(offsetX + (area.x + area.width) * zoom);
+        int bottom = (int) Math.ceil((area.y + area.height) * zoom);
+        return new Rectangle(left, top, right - left, bottom - top);
+    }
+}
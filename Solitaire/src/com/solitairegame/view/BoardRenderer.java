@@ -0,0 +1,266 @@
+package com.solitairegame.view;
+
+import java.awt.Canvas;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Etkin çizim kipi: tahta, Swing'in yeniden çizim kuyruğu yerine ayrı bir iş
+ * parçacığından BufferStrategy'li bir Canvas'a çizilir.
+ *
+ * Olay iş parçacığı her değişiklikte değişmez bir {@link BoardFrame} yayımlar;
+ * çizim iş parçacığı yalnızca en sonuncusunu, sabit kare aralığına hizalanmış
+ * zamanlarda çizer. Aradaki kareler atlanır, böylece olay iş parçacığındaki
+ * gecikmeler (modal pencereler, menü bulanıklığı) kare temposunu bozmaz.
+ * Yeni kare yokken iş parçacığı bekler ve işlemci harcamaz.
+ *
+ * Kazanma kutlamasının iz görüntüsü olay iş parçacığında sürekli basıldığı için
+ * karelere doğrudan verilmez; üç kopyadan biri kullanılır. Kopyalardan biri
+ * bekleyen karede, biri çizilen karede olabilir; olay iş parçacığı yalnızca
+ * üçüncüsüne, son verdiği kareden bu yana değişen bölgeyi kopyalar.
+ */
+final class BoardRenderer implements Runnable {
+
+    private static final int BUFFERS = 2;
+    private static final int TRAIL_COPIES = 3; // Bekleyen kare, çizilen kare ve doldurulan kopya
+    private static final long STOP_TIMEOUT_MILLIS = 500;
+
+    private final long frameIntervalNanos;
+    private final Canvas canvas = new Canvas() {
+        @Override
+        public void paint(Graphics g) {
+            // Pencere yeniden açığa çıktı; tampon içeriği kaybolmuş olabilir
+            redraw = true;
+            wake();
+        }
+
+        @Override
+        public void update(Graphics g) {
+            paint(g);
+        }
+    };
+
+    private volatile BoardFrame frame;
+    private volatile boolean redraw;
+    private volatile boolean running;
+    private Thread thread;
+
+    // Çizilen kare kilitle yazılır; olay iş parçacığı kullanımdaki iz kopyalarını böyle bilir
+    private final Object frameLock = new Object();
+    private BoardFrame drawing; // Çizilmekte olan veya en son çizilen kare
+    // Yalnızca olay iş parçacığında
+    private final BufferedImage[] trailCopies = new BufferedImage[TRAIL_COPIES];
+    private final Rectangle[] trailDirty = new Rectangle[TRAIL_COPIES]; // Aygıt pikseli; null ise güncel
+    private BufferedImage trailSource;
+
+    // İstatistikler çizim iş parçacığında yazılır, bu nesnenin kilidiyle okunur
+    private final LatencyHistogram frameTime = new LatencyHistogram();
+    private long droppedFrames;
+
+    BoardRenderer(long frameIntervalNanos) {
+        this.frameIntervalNanos = frameIntervalNanos;
+        canvas.setIgnoreRepaint(true);
+        canvas.setFocusable(false); // Klavye odağı pencerede kalır (ESC menüsü)
+    }
+
+    Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Tampon stratejisini kurar ve çizim iş parçacığını başlatır. Canvas
+     * ekrana eklendikten sonra olay iş parçacığından çağrılmalıdır.
+     */
+    void start() {
+        if (running) {
+            return;
+        }
+        canvas.createBufferStrategy(BUFFERS);
+        running = true;
+        thread = new Thread(this, "board-render");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Çizim iş parçacığını durdurur ve bitmesini bir süre bekler; Canvas
+     * ekrandan kaldırılmadan önce çağrılmalıdır.
+     */
+    void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     * Bir sonraki kare zamanında çizilecek kareyi verir; önceki çizilmemiş kare atılır.
+     */
+    void publish(BoardFrame frame) {
+        this.frame = frame;
+        wake();
+    }
+
+    /**
+     * Olay iş parçacığında: iz görüntüsünün bu bölgesine kart basıldı.
+     *
+     * @param area Aygıt pikseli koordinatları.
+     */
+    void trailChanged(Rectangle area) {
+        for (int i = 0; i < TRAIL_COPIES; i++) {
+            if (trailDirty[i] == null) {
+                trailDirty[i] = new Rectangle(area);
+            } else {
+                trailDirty[i].add(area);
+            }
+        }
+    }
+
+    /**
+     * Olay iş parçacığında: izin, çizim iş parçacığının kullanmadığı bir kopyasını
+     * günceller ve verir. Kopya yeni bir karede yayımlanana kadar değişmez.
+     */
+    BufferedImage copyTrail(BufferedImage trail) {
+        if (trail != trailSource) {
+            // Yeni kutlama; tüm kopyalar baştan doldurulur
+            trailSource = trail;
+            for (int i = 0; i < TRAIL_COPIES; i++) {
+                trailDirty[i] = new Rectangle(0, 0, trail.getWidth(), trail.getHeight());
+            }
+        }
+        int free = freeTrailCopy();
+        BufferedImage copy = trailCopies[free];
+        if (copy == null || copy.getWidth() != trail.getWidth() || copy.getHeight() != trail.getHeight()) {
+            copy = new BufferedImage(trail.getWidth(), trail.getHeight(), BufferedImage.TYPE_INT_RGB);
+            trailCopies[free] = copy;
+            trailDirty[free] = new Rectangle(0, 0, trail.getWidth(), trail.getHeight());
+        }
+        if (trailDirty[free] != null) {
+            Graphics2D g2d = copy.createGraphics();
+            g2d.clip(trailDirty[free]);
+            g2d.drawImage(trail, 0, 0, null);
+            g2d.dispose();
+            trailDirty[free] = null;
+        }
+        return copy;
+    }
+
+    /**
+     * Ne bekleyen ne de çizilen karede bulunan kopya. Çizim iş parçacığı yalnızca
+     * bekleyen kareyi alabildiği için seçilen kopya yayımlanana kadar boş kalır.
+     */
+    private int freeTrailCopy() {
+        BufferedImage pending = frame != null ? frame.getTrail() : null;
+        BufferedImage drawn;
+        synchronized (frameLock) {
+            drawn = drawing != null ? drawing.getTrail() : null;
+        }
+        for (int i = 0; i < TRAIL_COPIES; i++) {
+            if (trailCopies[i] == null || (trailCopies[i] != pending && trailCopies[i] != drawn)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Boş iz kopyası yok");
+    }
+
+    private void wake() {
+        Thread t = thread;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
+    @Override
+    public void run() {
+        BufferStrategy strategy = canvas.getBufferStrategy();
+        long deadline = System.nanoTime();
+        while (running) {
+            BoardFrame current;
+            boolean draw;
+            // Kare okunup çizilen olarak işaretlenmesi bölünmez; arada iz kopyası seçilemez
+            synchronized (frameLock) {
+                current = frame;
+                draw = current != null && (current != drawing || redraw);
+                if (draw) {
+                    drawing = current;
+                }
+            }
+            if (!draw) {
+                LockSupport.park(this);
+                // Boşta geçen süreden sonra ilk kare beklemeden çizilir
+                deadline = Math.max(deadline, System.nanoTime());
+                continue;
+            }
+            redraw = false;
+            long start = System.nanoTime();
+            try {
+                render(strategy, current);
+            } catch (IllegalStateException e) {
+                if (!running) {
+                    break; // Canvas durdurulurken ekrandan kaldırıldı
+                }
+                throw e;
+            }
+
+            long now = System.nanoTime();
+            deadline += frameIntervalNanos;
+            synchronized (this) {
+                frameTime.record(now - start);
+                if (now > deadline) {
+                    droppedFrames += (now - deadline) / frameIntervalNanos;
+                }
+            }
+            if (now > deadline) {
+                deadline = now; // Geride kalındı; tempo yeniden buradan başlar
+            } else {
+                // Yeni kare bekleme sırasında gelse de kare zamanına kadar çizilmez
+                while (running && System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(this, deadline - System.nanoTime());
+                }
+            }
+        }
+    }
+
+    private void render(BufferStrategy strategy, BoardFrame current) {
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    // Kare aygıt pikselindedir; ekran ölçeği dönüşümü kaldırılır
+                    g2d.setTransform(new AffineTransform());
+                    current.paint(g2d);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    /**
+     * Kare sürelerini yazdırıp sıfırlar.
+     */
+    synchronized void logFrameStats() {
+        if (frameTime.getCount() > 0) {
+            System.out.println(String.format("DEBUG: Etkin çizim kare süresi: %s, %d kare atlandı, %%%.1f'i süresinde",
+                    frameTime, droppedFrames, frameTime.fractionBelow(frameIntervalNanos) * 100));
+            System.out.print(frameTime.toHistogramString());
+            frameTime.reset();
+            droppedFrames = 0;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.solitairegame.view;
+
+import com.solitairegame.model.Card;
+
+import java.awt.Rectangle;
+
+/**
+ * Tahtadaki her kart için bir düğüm tutan sahne.
+ *
+ * Düğüm kartın konumunu, çizim sırasını (z), görünen yüzünü ve kapladığı alanı
+ * saklar; yalnızca kart yer değiştirdiğinde güncellenir. Çizim, z sırasına
+ * dizilmiş düğümler üzerinde tek bir geçiştir ve kirli bölgeye değmeyen düğümler
+ * atlanır. Yerinde duran kartlar önbellek katmanına, hareket eden kartlar
+ * (uçan ve sürüklenen) her karede katmanın üstüne çizilir. Güncellemeler olay
+ * iş parçacığından yapılmalıdır.
+ */
+final class CardScene {
+
+    /**
+     * Tek bir kartın sahnedeki hali.
+     */
+    static final class CardNode {
+        private int code; // Kapalı kartlar arka yüzle çizilir
+        private int x, y; // Sol üst köşe (tahta koordinatı)
+        private int z;
+        private int height; // Çizilen yükseklik; üstü örtülen kartta yalnızca şerit
+        private boolean visible;
+        private boolean moving;
+        // Çizimin kapladığı alan, kenar payıyla. Şerit halindeki kart da tam boyda sayılır;
+        // alan yalnızca çizilmeyecek düğümleri atlamak için kullanılır
+        private final Rectangle bounds = new Rectangle();
+
+        int getCode() {
+            return code;
+        }
+
+        int getX() {
+            return x;
+        }
+
+        int getY() {
+            return y;
+        }
+
+        int getHeight() {
+            return height;
+        }
+
+        boolean isVisible() {
+            return visible;
+        }
+
+        boolean isMoving() {
+            return moving;
+        }
+
+        Rectangle getBounds() {
+            return bounds;
+        }
+    }
+
+    private static final int EDGE = 2; // Kart görüntüsünün gölge ve kenar payı
+
+    private final int cardWidth;
+    private final int cardHeight;
+    private final CardNode[] nodes = new CardNode[Card.CODE_MASK + 1]; // Kart koduna göre
+    private final CardNode[] order = new CardNode[nodes.length]; // z sırasına göre
+    private boolean orderDirty;
+
+    CardScene(int cardWidth, int cardHeight) {
+        this.cardWidth = cardWidth;
+        this.cardHeight = cardHeight;
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new CardNode();
+            order[i] = nodes[i];
+        }
+    }
+
+    CardNode node(int code) {
+        return nodes[code & Card.CODE_MASK];
+    }
+
+    /**
+     * Kartı destedeki yerine, yerinde duran olarak koyar.
+     *
+     * @param height Çizilen yükseklik; kartın tamamı için kart yüksekliği.
+     */
+    void place(int code, int x, int y, int z, int height) {
+        CardNode node = node(code);
+        node.code = code;
+        node.height = height;
+        node.moving = false;
+        setZ(node, z);
+        move(node, x, y);
+    }
+
+    /**
+     * Kartı hareket eden kartlar arasına alır. Kart, ilk {@link #move(int, int, int)}
+     * çağrısına kadar çizilmez.
+     */
+    void lift(int code, int z, int height) {
+        CardNode node = node(code);
+        node.code = code;
+        node.height = height;
+        node.moving = true;
+        node.visible = false;
+        setZ(node, z);
+    }
+
+    /**
+     * Kartın konumunu değiştirir ve onu görünür yapar.
+     */
+    void move(int code, int x, int y) {
+        move(node(code), x, y);
+    }
+
+    /**
+     * Kartı çizmez; üzeri tamamen örtülen kartlar için.
+     */
+    void hide(int code) {
+        CardNode node = node(code);
+        node.code = code;
+        node.moving = false;
+        node.visible = false;
+    }
+
+    /**
+     * @return z sırasına dizilmiş tüm düğümler (görünmeyenler dahil).
+     */
+    CardNode[] ordered() {
+        if (orderDirty) {
+            // Sıra her seferinde az değişir; eklemeli sıralama neredeyse doğrusal sürer
+            for (int i = 1; i < order.length; i++) {
+                CardNode node = order[i];
+                int j = i - 1;
+                while (j >= 0 && order[j].z > node.z) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = node;
+            }
+            orderDirty = false;
+        }
+        return order;
+    }
+
+    private void move(CardNode node, int x, int y) {
+        node.x = x;
+        node.y = y;
+        node.visible = true;
+        node.bounds.setBounds(x - EDGE, y - EDGE, cardWidth + 2 * EDGE, cardHeight + 2 * EDGE);
+    }
+
+    private void setZ(CardNode node, int z) {
+        if (node.z != z) {
+            node.z = z;
+            orderDirty = true;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.solitairegame.view;
+
+import com.solitairegame.model.Card;
+import com.solitairegame.model.GameState;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tüm kart yüzlerinin, arka yüzün ve boş yuvaların bir kez çizildiği kart atlası.
+ *
+ * Her karede kartları yazı tipi ve metinle yeniden çizmek yerine atlastaki
+ * hücre tek bir görüntü kopyalamasıyla tahtaya aktarılır. Atlas ekranla uyumlu
+ * (compatible) bir görüntüdür; Java2D onu ekran kartı belleğinde tutabilir.
+ * Hücreler verilen ölçekte tam aygıt pikseli boyutunda çizilir ve çizim
+ * yöntemleri aygıt pikseli koordinatı alır; kopyalama ölçeklenmeden 1:1 yapılır.
+ */
+final class CardSprites {
+
+    // Atlastaki hücre sırası: 0..51 kart kodları, ardından özel görüntüler
+    private static final int BACK = Card.COUNT;
+    private static final int EMPTY_SLOT = BACK + 1;
+    private static final int FOUNDATION_SLOT = EMPTY_SLOT + 1; // 4 hücre
+    private static final int EMPTY_STOCK = FOUNDATION_SLOT + 4;
+    private static final int SPRITE_COUNT = EMPTY_STOCK + 1;
+    private static final int COLUMNS = 13;
+
+    // Kenarlık çizgileri kartın dışına 1 piksel taştığından hücreler her yönde genişletilir
+    private static final int PAD = 2;
+
+    // Arka yüz resminin köşe yuvarlaklığı; bu kadar satır alttaki karttan görünür
+    private static final int CORNER_ROWS = 8;
+
+    private static final String[] RANK_TEXT = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K"};
+    private static final String[] SUIT_TEXT = {"♣", "♦", "♥", "♠"}; // Card.Suit sırasıyla
+
+    private final int cardWidth;
+    private final int cardHeight;
+    private final double scale;
+    private final Image backImage;
+    private final int padding; // PAD'in aygıt pikseli karşılığı
+    private final int pixelWidth; // Atlastaki bir hücrenin piksel boyutları
+    private final int pixelHeight;
+    private final BufferedImage atlas;
+
+    /**
+     * @param configuration Ekranla uyumlu görüntü için yapılandırma; yoksa (ekransız ortam) null.
+     * @param scale         Tahta biriminden aygıt pikseline ölçek.
+     */
+    CardSprites(int cardWidth, int cardHeight, Image backImage, double scale, GraphicsConfiguration configuration) {
+        this.cardWidth = cardWidth;
+        this.cardHeight = cardHeight;
+        this.scale = scale;
+        this.backImage = backImage;
+        this.padding = (int) Math.ceil(PAD * scale);
+        this.pixelWidth = (int) Math.ceil(cardWidth * scale) + 2 * padding;
+        this.pixelHeight = (int) Math.ceil(cardHeight * scale) + 2 * padding;
+
+        int rows = (SPRITE_COUNT + COLUMNS - 1) / COLUMNS;
+        int width = COLUMNS * pixelWidth;
+        int height = rows * pixelHeight;
+        atlas = configuration != null
+                ? configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+
+        Graphics2D g2d = atlas.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        for (int sprite = 0; sprite < SPRITE_COUNT; sprite++) {
+            Graphics2D cell = (Graphics2D) g2d.create();
+            cell.translate((sprite % COLUMNS) * pixelWidth, (sprite / COLUMNS) * pixelHeight);
+            cell.clipRect(0, 0, pixelWidth, pixelHeight);
+            cell.translate(padding, padding); // Kartın sol üst köşesi tam piksele denk gelir
+            cell.scale(scale, scale);
+            renderSprite(cell, sprite, 0, 0);
+            cell.dispose();
+        }
+        g2d.dispose();
+    }
+
+    /**
+     * @return Atlas verilen ölçek ve arka yüz için çizildiyse true.
+     */
+    boolean matches(double scale, Image backImage) {
+        return this.scale == scale && this.backImage == backImage;
+    }
+
+    /**
+     * Kartı açıksa yüzüyle, kapalıysa arka yüzüyle çizer.
+     *
+     * @param x Kartın sol üst köşesi (aygıt pikseli).
+     */
+    void drawCard(Graphics2D g2d, int code, int x, int y) {
+        blit(g2d, Card.isFaceUp(code) ? code & Card.CODE_MASK : BACK, x, y);
+    }
+
+    /**
+     * Kartın yalnızca üstteki {@code height} tahta birimini çizer; tableau'da
+     * üzerine başka kart binen kartların geri kalanı zaten görünmez.
+     */
+    void drawCardTop(Graphics2D g2d, int code, int x, int y, int height) {
+        int sprite = Card.isFaceUp(code) ? code & Card.CODE_MASK : BACK;
+        int sx = (sprite % COLUMNS) * pixelWidth;
+        int sy = (sprite / COLUMNS) * pixelHeight;
+        // Üstteki kartın yuvarlatılmış köşelerinden görünen satırlar da çizilir
+        int visible = Math.min(pixelHeight, padding + (int) Math.ceil((height + CORNER_ROWS) * scale));
+        g2d.drawImage(atlas, x - padding, y - padding, x - padding + pixelWidth, y - padding + visible,
+                sx, sy, sx + pixelWidth, sy + visible, null);
+    }
+
+    void drawBack(Graphics2D g2d, int x, int y) {
+        blit(g2d, BACK, x, y);
+    }
+
+    void drawEmptySlot(Graphics2D g2d, int x, int y) {
+        blit(g2d, EMPTY_SLOT, x, y);
+    }
+
+    /**
+     * Boş hedef yuvasını, sıradaki hedefin simgesiyle çizer.
+     */
+    void drawFoundationSlot(Graphics2D g2d, int index, int x, int y) {
+        blit(g2d, FOUNDATION_SLOT + index, x, y);
+    }
+
+    void drawEmptyStock(Graphics2D g2d, int x, int y) {
+        blit(g2d, EMPTY_STOCK, x, y);
+    }
+
+    /**
+     * Boş destenin yuvasını destenin türüne göre çizer.
+     */
+    void drawPileSlot(Graphics2D g2d, int pile, int x, int y) {
+        if (GameState.isFoundation(pile)) {
+            drawFoundationSlot(g2d, pile - GameState.FOUNDATION, x, y);
+        } else if (pile == GameState.STOCK) {
+            drawEmptyStock(g2d, x, y);
+        } else {
+            drawEmptySlot(g2d, x, y);
+        }
+    }
+
+    private void blit(Graphics2D g2d, int sprite, int x, int y) {
+        int sx = (sprite % COLUMNS) * pixelWidth;
+        int sy = (sprite / COLUMNS) * pixelHeight;
+        g2d.drawImage(atlas, x - padding, y - padding, x - padding + pixelWidth, y - padding + pixelHeight,
+                sx, sy, sx + pixelWidth, sy + pixelHeight, null);
+    }
+
+    private void renderSprite(Graphics2D g2d, int sprite, int x, int y) {
+        if (sprite < Card.COUNT) {
+            renderFace(g2d, sprite, x, y);
+        } else if (sprite == BACK) {
+            renderBack(g2d, x, y);
+        } else if (sprite == EMPTY_SLOT) {
+            renderEmptySlot(g2d, x, y);
+        } else if (sprite < EMPTY_STOCK) {
+            renderFoundationSlot(g2d, sprite - FOUNDATION_SLOT, x, y);
+        } else {
+            renderEmptyStock(g2d, x, y);
+        }
+    }
+
+    private void renderFace(Graphics2D g2d, int code, int x, int y) {
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(x, y, cardWidth, cardHeight);
+        g2d.setColor(Color.BLACK);
+        g2d.drawRect(x, y, cardWidth, cardHeight);
+
+        g2d.setColor(Card.isRed(code) ? Color.RED : Color.BLACK);
+        String rankChar = RANK_TEXT[Card.rank(code)];
+        String suitChar = SUIT_TEXT[Card.suit(code)];
+
+        // --- KARTIN KÖŞESİNDEKİ KÜÇÜK METİN (ORTALANMAMIŞ) ---
+        g2d.setFont(new Font("Arial", Font.BOLD, 14));
+        FontMetrics fmCorner = g2d.getFontMetrics();
+        g2d.drawString(rankChar + suitChar, x + 5, y + fmCorner.getAscent() + 5);
+
+        // --- KARTIN ORTASINDAKİ BÜYÜK METİN (ORTALANMIŞ) ---
+        g2d.setFont(new Font("Arial", Font.BOLD, 36));
+        FontMetrics fmCenter = g2d.getFontMetrics();
+
+        // Rütbe ortanın biraz üstünde, tür biraz altında
+        int rankTextX = x + (cardWidth - fmCenter.stringWidth(rankChar)) / 2;
+        int rankTextY = y + (cardHeight / 2) - (fmCenter.getHeight() / 2) + fmCenter.getAscent() - 10;
+        g2d.drawString(rankChar, rankTextX, rankTextY);
+
+        int suitTextX = x + (cardWidth - fmCenter.stringWidth(suitChar)) / 2;
+        int suitTextY = y + (cardHeight / 2) + (fmCenter.getHeight() / 2) + fmCenter.getAscent() - 10;
+        g2d.drawString(suitChar, suitTextX, suitTextY);
+    }
+
+    private void renderBack(Graphics2D g2d, int x, int y) {
+        // Kart kapalı olduğunda Back.png resmini çiz
+        if (backImage != null) {
+            g2d.drawImage(backImage, x, y, cardWidth, cardHeight, null);
+            return;
+        }
+        // Resim yüklenemezse veya bulunamazsa varsayılan mavi arka yüz
+        g2d.setColor(new Color(0, 0, 150));
+        g2d.fillRect(x, y, cardWidth, cardHeight);
+        g2d.setColor(Color.BLACK);
+        g2d.drawRect(x, y, cardWidth, cardHeight);
+
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(new Font("Serif", Font.PLAIN, 12));
+        String backText = "Solitaire";
+        FontMetrics fmBack = g2d.getFontMetrics();
+        g2d.drawString(backText, x + (cardWidth - fmBack.stringWidth(backText)) / 2, y + cardHeight / 2);
+    }
+
+    private void renderEmptySlot(Graphics2D g2d, int x, int y) {
+        g2d.setColor(new Color(0, 50, 0)); // Daha koyu yeşil boşluk
+        g2d.fillRect(x, y, cardWidth, cardHeight);
+        g2d.setColor(new Color(50, 150, 50)); // Açık yeşil kenarlık
+        g2d.setStroke(new BasicStroke(2));
+        g2d.drawRect(x, y, cardWidth, cardHeight);
+        g2d.setStroke(new BasicStroke(1));
+    }
+
+    private void renderFoundationSlot(Graphics2D g2d, int index, int x, int y) {
+        renderEmptySlot(g2d, x, y);
+        // Hedef destelerinin sırasına göre simge: kupa, karo, sinek, maça
+        String text;
+        switch (index) {
+            case 0: text = "♥"; g2d.setColor(Color.RED); break;
+            case 1: text = "♦"; g2d.setColor(Color.RED); break;
+            case 2: text = "♣"; g2d.setColor(Color.BLACK); break;
+            default: text = "♠"; g2d.setColor(Color.BLACK); break;
+        }
+        g2d.setFont(new Font("Arial", Font.BOLD, 24));
+        FontMetrics fm = g2d.getFontMetrics();
+        g2d.drawString(text, x + (cardWidth - fm.stringWidth(text)) / 2,
+                y + (cardHeight - fm.getHeight()) / 2 + fm.getAscent());
+    }
+
+    private void renderEmptyStock(Graphics2D g2d, int x, int y) {
+        renderEmptySlot(g2d, x, y);
+        g2d.setColor(Color.LIGHT_GRAY);
+        g2d.setFont(new Font("Arial", Font.BOLD, 18));
+        FontMetrics fm = g2d.getFontMetrics();
+        String text = "BOŞ";
+        g2d.drawString(text, x + (cardWidth - fm.stringWidth(text)) / 2, y + cardHeight / 2);
+    }
+}
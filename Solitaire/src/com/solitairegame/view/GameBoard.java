@@ -1,90 +1,171 @@
 package com.solitairegame.view;
 
 import com.solitairegame.model.Card;
+import com.solitairegame.model.DealBank;
 import com.solitairegame.model.Deck;
-
+import com.solitairegame.model.GameState;
+import com.solitairegame.model.Move;
+import com.solitairegame.model.MoveLog;
+import com.solitairegame.model.ParallelSolver;
+import com.solitairegame.model.RandomSource;
+import com.solitairegame.model.Replay;
+import com.solitairegame.model.SaveGame;
+
+import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Stack;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class GameBoard extends JPanel {
 
     public static final int PREFERRED_WIDTH = 750;
     public static final int PREFERRED_HEIGHT = 600;
     
-    private final int CARD_WIDTH = 73;
-    private final int CARD_HEIGHT = 98;
-    private final int CARD_OVERLAP_Y = 20;
-    private final int CARD_HORIZONTAL_SPACING = 20;
-
-    private final int TABLEAU_START_X = 50;
-    private final int TABLEAU_START_Y = 150;
-
-    private final int FOUNDATION_START_X = TABLEAU_START_X;
-    private final int FOUNDATION_START_Y = 30;
-
-    private final int STOCK_PILE_X = TABLEAU_START_X + (6 * (CARD_WIDTH + CARD_HORIZONTAL_SPACING));
-    private final int STOCK_PILE_Y = FOUNDATION_START_Y;
-    private final int WASTE_PILE_X = STOCK_PILE_X - (CARD_WIDTH + CARD_HORIZONTAL_SPACING);
-    private final int WASTE_PILE_Y = FOUNDATION_START_Y;
+    // Destelerin yerleri BoardLayout'ta tanımlıdır
+    private final int CARD_WIDTH = BoardLayout.CARD_WIDTH;
+    private final int CARD_HEIGHT = BoardLayout.CARD_HEIGHT;
+    private final int CARD_OVERLAP_Y = BoardLayout.CARD_OVERLAP_Y;
 
     private Deck deck;
-    private List<List<Card>> tableauPiles;
-    private List<Stack<Card>> foundationPiles;
-    private Stack<Card> stockPile;
-    private Stack<Card> wastePile;
+    private long seed; // Geçerli dağıtımın tohumu
+    private DealBank dealBank; // Kazanılabilir dağıtım bankası; yoksa null
+    private GameState gameState; // Tüm kurallar ve desteler bu motorda tutulur
+    private MoveLog moveLog = new MoveLog(); // Geri al / yinele için oynanan hamleler
+    private long resumeElapsedMillis = -1; // Kayıttan dönülen oyunun süresi; menü paneline aktarılınca -1
+
+    // Dağıtım, otomatik bitirme ve geri alma animasyonlarının hepsi tek zamanlayıcıda çalışır.
+    // Uçan kartlar hedef destelerine hamle anında eklenir; inmeden önce orada çizilmezler.
+    private final Animator animator = new Animator();
+    private final int[] inFlight = new int[GameState.PILE_COUNT]; // Destenin üstünden henüz inmemiş kart sayısı
+
+    // Her kartın konumu ve çizim sırası; yalnızca kart yer değiştirdiğinde güncellenir.
+    // Yerinde duran kartlar destenin sırasıyla, uçanlar kalkış sırasıyla, sürüklenenler en üstte çizilir.
+    private static final int PILE_Z = 64; // Bir destenin kartlarına ayrılan z aralığı
+    private static final int FLIGHT_Z = GameState.PILE_COUNT * PILE_Z;
+    private static final int DRAG_Z = Integer.MAX_VALUE - PILE_Z;
+    private final CardScene scene = new CardScene(BoardLayout.CARD_WIDTH, BoardLayout.CARD_HEIGHT);
+    private int nextFlightZ = FLIGHT_Z;
+    private final long DEAL_CARD_DURATION = 150_000_000; // Dağıtımda kart başına süre (ns)
+    private final long AUTO_MOVE_DURATION = 60_000_000; // Otomatik bitirmede kart başına süre (ns)
+    private final long UNDO_MOVE_DURATION = 120_000_000; // Geri al / yinelede kartların dönüş süresi (ns)
 
     private boolean dealingAnimationActive = false;
-    private Timer animationTimer;
-    private Card animatingCard;
-    private Point animationStartPoint;
-    private Point animationEndPoint;
-    private long animationStartTime;
-    private final long ANIMATION_DURATION = 150; // Kart başına animasyon süresi (ms)
-
-    private int currentTableauPileIndex = 0;
-    private int currentCardInTableauPile = 0;
-
-    private Card draggedCard = null;
-    private List<Card> draggedCardPile = null;
+    private boolean autoCompleteActive = false; // Kazanılmış oyun kendiliğinden bitiriliyor mu
+
+    private int dragSourcePile = -1; // Sürüklenen kartların geldiği deste (GameState indeksi)
+    private int dragStartIndex = -1; // Sürüklenen ilk kartın destedeki indeksi
     private int dragOffsetX, dragOffsetY;
-    private Point initialCardPosition; 
-    private Object originalSourcePile = null;
-    private int originalSourcePileIndex = -1;
+    private int dragX, dragY; // Sürüklenen ilk kartın en son çizildiği sol üst köşe
+
+    // Sürükleme olayları ekran yenileme hızında birleştirilir: aradaki olaylar
+    // yalnızca bekleyen konumu günceller, kare başına bir kez çizim istenir.
+    private final long frameIntervalNanos = animator.getFrameIntervalNanos();
+    private final Timer dragFrameTimer = new Timer(0, e -> flushDragFrame());
+    private int pendingDragX, pendingDragY; // Henüz çizilmemiş en son fare konumu
+    private long pendingInputTime; // Henüz çizilmemiş ilk olayın zamanı (ns); 0 ise bekleyen yok
+    private long frameInputTime; // Çizilmeyi bekleyen karedeki konumun olay zamanı (ns)
+    private long lastDragFrameTime;
+    private final LatencyHistogram dragLatency = new LatencyHistogram();
 
     private boolean gameStarted = false; // Oyunun başlayıp başlamadığını kontrol eder (animasyon sonrası)
     private boolean gameWon = false; // Oyunun kazanılıp kazanılmadığını tutar
 
+    // Tahta koordinatlarından panel ve aygıt pikseline eşleme; panel boyutu ve ekran ölçeğiyle güncellenir
+    private final BoardLayout layout = new BoardLayout(PREFERRED_WIDTH, PREFERRED_HEIGHT);
+
     private Image backImage;
+    private CardSprites sprites; // Geçerli ölçeğin kart atlası
+    private static final int SPRITE_CACHE_SIZE = 4;
+    private final Map<Double, CardSprites> spriteCache = new LinkedHashMap<Double, CardSprites>(4, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Double, CardSprites> eldest) {
+            return size() > SPRITE_CACHE_SIZE; // En uzun süredir kullanılmayan ölçek atılır
+        }
+    };
+
+    // Hareket etmeyen kartların önbellek katmanı; yalnızca kirli bölgesi yeniden çizilir.
+    // getBoardImage() başka iş parçacığından çağrılabildiği için katman, yerleşim ve atlas kilitle korunur.
+    private final Object boardLayerLock = new Object();
+    private BufferedImage boardLayer;
+    private double boardLayerScale;
+    private Rectangle boardLayerDirty; // null ise katman güncel
+
+    // Kazanma kutlaması; izleri katman yerine çizilir ve yeni oyuna kadar ekranda kalır
+    private WinCascade winCascade; // Kutlama sürerken
+    private BufferedImage winTrail;
+
+    // Etkin çizim kipi ("solitaire.activeRendering" sistem özelliği): tahta Swing yerine
+    // ayrı iş parçacığından bir Canvas'a çizilir. Kapalıysa null.
+    private final BoardRenderer renderer = Boolean.getBoolean("solitaire.activeRendering")
+            ? new BoardRenderer(frameIntervalNanos) : null;
+    private final AtomicBoolean framePending = new AtomicBoolean(); // Yayımlanmayı bekleyen kare var
+
+    // Tahtanın görünümü her değiştiğinde artar; menü, sürüm değişmediyse eski
+    // görüntüyü ve bulanıklığı yeniden kullanır. Olay iş parçacığında güncellenir.
+    private long stateVersion;
     
     private GameMenuPanel menuPanel; // GameMenuPanel referansı
 
+    private ParallelSolver activeSolver; // Yeni oyunda iptal edilecek çalışan çözücü
+
     public GameBoard() {
         setPreferredSize(new Dimension(PREFERRED_WIDTH, PREFERRED_HEIGHT));
         setBackground(new Color(0, 100, 0));
 
         loadCardBackImage();
+        loadDealBank();
+
+        dragFrameTimer.setRepeats(false);
+        SolitaireMouseListener mouseListener = new SolitaireMouseListener();
+        SolitaireMouseMotionListener mouseMotionListener = new SolitaireMouseMotionListener();
+        addMouseListener(mouseListener);
+        addMouseMotionListener(mouseMotionListener);
+        installUndoKeys();
+
+        if (renderer != null) {
+            // Canvas tahtanın tamamını kaplar; fare olayları aynı dinleyicilere, aynı koordinatlarla gider
+            setLayout(null);
+            Canvas canvas = renderer.getCanvas();
+            canvas.addMouseListener(mouseListener);
+            canvas.addMouseMotionListener(mouseMotionListener);
+            add(canvas);
+        }
 
-        deck = new Deck();
-        deck.shuffle();
-
-        initializePilesForAnimation();
-        addMouseListener(new SolitaireMouseListener());
-        addMouseMotionListener(new SolitaireMouseMotionListener());
-
-        startDealingAnimation(); // Oyun açılışında dağıtım animasyonunu başlat
+        // Yarıda kalan oyun varsa dağıtım animasyonu olmadan kaldığı yerden devam et
+        if (!restoreSavedGame()) {
+            seed = nextSeed();
+            deck = new Deck(seed);
+            initializePilesForAnimation();
+            startDealingAnimation(); // Oyun açılışında dağıtım animasyonunu başlat
+        }
     }
     
     public void setMenuPanel(GameMenuPanel menuPanel) {
         this.menuPanel = menuPanel;
+        if (menuPanel != null) {
+            menuPanel.setMoveEditingEnabled(isEnabled());
+        }
+        if (menuPanel != null && resumeElapsedMillis >= 0) {
+            menuPanel.resumeTimerFrom(resumeElapsedMillis);
+            resumeElapsedMillis = -1;
+        }
     }
     
     public GameMenuPanel getMenuPanel() {
@@ -104,14 +185,14 @@ public class GameBoard extends JPanel {
     }
 
     /**
-     * Kartın arka yüzü resmini Toolkit kullanarak yükler.
+     * Kartın arka yüzü resmini yükler. Kart atlası bu resimden bir kez çizildiği
+     * için Toolkit'in arka planda yüklemesi yerine resim hemen okunur.
      */
     private void loadCardBackImage() {
         try {
             URL imageUrl = getClass().getResource("/images/Back.png");
             if (imageUrl != null) {
-                Image originalBackImage = Toolkit.getDefaultToolkit().getImage(imageUrl);
-                backImage = originalBackImage;
+                backImage = ImageIO.read(imageUrl);
             } else {
                 System.err.println("images/Back.png bulunamadı. Dosya yolunu kontrol edin.");
                 backImage = null;
@@ -125,403 +206,669 @@ public class GameBoard extends JPanel {
 
 
     /**
-     * Tüm desteleri animasyona uygun şekilde başlatır.
-     * Tüm kartlar başlangıçta stockPile'da olacak.
+     * Kayıt dosyasının yolu: "solitaire.saveFile" sistem özelliği, yoksa kullanıcı dizini.
      */
-    private void initializePilesForAnimation() {
-        tableauPiles = new ArrayList<>();
-        for (int i = 0; i < 7; i++) {
-            tableauPiles.add(new ArrayList<>()); // Başlangıçta boş desteler
-        }
+    private static Path saveFilePath() {
+        String path = System.getProperty("solitaire.saveFile");
+        return path != null ? Paths.get(path) : Paths.get(System.getProperty("user.home"), ".solitaire.save");
+    }
 
-        foundationPiles = new ArrayList<>();
-        for (int i = 0; i < 4; i++) {
-            foundationPiles.add(new Stack<>());
+    /**
+     * Yarıda bırakılan oyunu kayıt dosyasından yükler.
+     *
+     * @return Kayıt bulunup yüklendiyse true.
+     */
+    private boolean restoreSavedGame() {
+        Path path = saveFilePath();
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try {
+            long start = System.nanoTime();
+            SaveGame save = SaveGame.read(path);
+            seed = save.getSeed();
+            gameState = save.getState();
+            moveLog = save.getMoveLog();
+            resumeElapsedMillis = save.getElapsedMillis();
+            gameWon = false;
+            gameStarted = true;
+            dealingAnimationActive = false;
+            System.out.println("DEBUG: Kayıtlı oyun yüklendi (" + (System.nanoTime() - start) / 1000 + " µs, "
+                    + moveLog.size() + " hamle).");
+            invalidateBoard();
+            if (gameState.canAutoComplete()) {
+                startAutoComplete();
+            }
+            return true;
+        } catch (Exception e) {
+            System.err.println("Kayıtlı oyun yüklenirken hata oluştu: " + e.getMessage());
+            return false;
         }
+    }
 
-        stockPile = new Stack<>();
-        wastePile = new Stack<>();
+    /**
+     * Sürmekte olan oyunu çıkışta kaydeder. Oyun bitmişse veya henüz dağıtılıyorsa
+     * eski kayıt silinir, böylece bir sonraki açılış yeni oyunla başlar.
+     */
+    public void saveGame() {
+        logFrameStats();
+        Path path = saveFilePath();
+        try {
+            if (!gameStarted || gameWon) {
+                Files.deleteIfExists(path);
+                return;
+            }
+            long elapsed = menuPanel != null ? menuPanel.getElapsedMillis() : 0;
+            new SaveGame(gameState, seed, elapsed, moveLog).write(path);
+            System.out.println("DEBUG: Oyun kaydedildi: " + path);
+        } catch (IOException e) {
+            System.err.println("Oyun kaydedilirken hata oluştu: " + e.getMessage());
+        }
+    }
 
-        // 52 kartın tamamını stockPile'a ekle (kapalı olarak)
-        // Kartlar dağıtılırken pop edildiği için desteyi ters çeviriyoruz
-        List<Card> tempDeckList = new ArrayList<>();
-        while (deck.size() > 0) {
-            tempDeckList.add(deck.dealCard());
+    /**
+     * Biten oyunun tohumunu ve hamlelerini tekrar dosyası olarak yazar. Dizin
+     * "solitaire.replayDir" sistem özelliğinden okunur, yoksa kullanıcı dizinidir.
+     */
+    private void writeReplay(boolean won) {
+        String dir = System.getProperty("solitaire.replayDir");
+        Path directory = dir != null ? Paths.get(dir) : Paths.get(System.getProperty("user.home"), ".solitaire-replays");
+        try {
+            Files.createDirectories(directory);
+            Path path = directory.resolve(String.format("%016x-%d.replay", seed, System.currentTimeMillis()));
+            Replay.write(path, seed, moveLog, won);
+        } catch (IOException e) {
+            System.err.println("Oyun tekrarı kaydedilirken hata oluştu: " + e.getMessage());
         }
-        Collections.reverse(tempDeckList); // Kartlar pop edildiğinde doğru sırada çıkması için
+    }
 
-        for(Card card : tempDeckList) {
-            card.setFaceUp(false); // Başlangıçta tüm kartlar kapalı
-            stockPile.push(card);
+    /**
+     * Kazanılabilir dağıtım bankasını {@link DealBank#defaultPath()} yolundan belleğe
+     * eşler; dosya yoksa dağıtımlar rastgele tohumla yapılır.
+     */
+    private void loadDealBank() {
+        Path path = DealBank.defaultPath();
+        try {
+            dealBank = DealBank.openIfExists(path);
+            if (dealBank != null && dealBank.isEmpty()) {
+                dealBank.close();
+                dealBank = null;
+            }
+            if (dealBank == null) {
+                System.out.println("DEBUG: Dağıtım bankası bulunamadı (" + path + "), dağıtımlar doğrulanmamış rastgele tohumla yapılacak.");
+            }
+        } catch (Exception e) {
+            System.err.println("Dağıtım bankası yüklenirken hata oluştu: " + e.getMessage());
+            dealBank = null;
         }
+    }
+
+    /**
+     * Banka varsa ondan kazanılabilir bir tohum, yoksa rastgele bir tohum seçer.
+     */
+    private long nextSeed() {
+        long random = ThreadLocalRandom.current().nextLong();
+        return dealBank != null ? dealBank.randomSeed(random) : random;
+    }
+
+    /**
+     * Tüm desteleri animasyona uygun şekilde başlatır.
+     * Dağıtım kural motorunda hemen yapılır; animasyon yalnızca kartların
+     * tableau destelerine sırayla görünmesini sağlar.
+     */
+    private void initializePilesForAnimation() {
+        gameState = GameState.deal(deck);
+        moveLog.clear();
         gameWon = false; // Yeni oyun başladığında kazanma durumunu sıfırla
 
-        // Animasyonla ilgili sayaçları sıfırla
-        currentTableauPileIndex = 0;
-        currentCardInTableauPile = 0;
+        // Önceki oyundan kalan uçan kartları at
+        cancelAnimations();
 
         // Sürükleme değişkenlerini de sıfırlamak faydalı olacaktır.
-        draggedCard = null;
-        draggedCardPile = null;
-        originalSourcePile = null;
-        originalSourcePileIndex = -1;
+        dragSourcePile = -1;
+        dragStartIndex = -1;
+        invalidateBoard();
     }
 
     /**
      * Tableau destelerine kart dağıtma animasyonunu başlatır.
-     * Kartları stockPile'dan alıp ilgili tableau destelerine hareket ettirir.
+     * Kartları stok konumundan ilgili tableau destelerine hareket ettirir.
      */
     private void startDealingAnimation() {
         dealingAnimationActive = true;
-        animationStartTime = System.currentTimeMillis(); // Animasyon başlangıç zamanı
 
         // Yeni oyun/dağıtım animasyonu başladığında menü panelindeki zamanlayıcıyı sıfırla.
         // Bu noktada başlatma yok, sadece sıfırlama ve durdurma.
         if (menuPanel != null) {
-            menuPanel.resetTimer(); 
+            menuPanel.resetTimer();
         }
 
-        prepareNextCardForAnimation(); // İlk kartı animasyona hazırla
-
-        animationTimer = new Timer(10, e -> { // Daha akıcı animasyon için daha kısa gecikme
-            if (!dealingAnimationActive) { // Animasyon bittiyse durdur
-                ((Timer) e.getSource()).stop();
-                return;
+        // Kartlar stoktan sırayla, deste deste ve alttan üste uçar; her biri
+        // bir öncekinin indiği anda kalkar. Tümü baştan zamanlayıcıya eklenir.
+        Point stock = cardLocation(GameState.STOCK, 0);
+        long delay = 0;
+        for (int i = 0; i < GameState.TABLEAU_COUNT; i++) {
+            int pile = GameState.TABLEAU + i;
+            int size = gameState.size(pile);
+            inFlight[pile] = size;
+            for (int j = 0; j < size; j++) {
+                // Yerine oturana kadar kapalı hareket eder
+                int[] card = {gameState.card(pile, j) & Card.CODE_MASK};
+                boolean last = i == GameState.TABLEAU_COUNT - 1 && j == size - 1;
+                startFlight(new CardFlight(pile, card, stock, cardLocation(pile, j), delay, DEAL_CARD_DURATION,
+                        last ? this::finishDealing : null));
+                delay += DEAL_CARD_DURATION;
             }
+        }
+    }
 
-            long elapsed = System.currentTimeMillis() - animationStartTime;
-            double progress = (double) elapsed / ANIMATION_DURATION;
+    private void finishDealing() {
+        // Tüm tableau desteleri doldu, oyun artık manuel etkileşime hazır
+        dealingAnimationActive = false;
+        gameStarted = true;
+        // Animasyon bitti, zamanlayıcıyı BAŞLAT
+        if (menuPanel != null) {
+            menuPanel.startTimer();
+        }
+    }
 
-            if (progress >= 1.0) { // Animasyon tamamlandı
-                progress = 1.0; // %100'e sabitle
-                if (animatingCard != null) {
-                    // Animasyon tamamlandığında kartın yüzünü çevir (en üstteki kartlar için)
-                    if (currentCardInTableauPile == currentTableauPileIndex) { // Dağıtılan destenin en üstündeki kart
-                        animatingCard.setFaceUp(true);
-                    }
-                    tableauPiles.get(currentTableauPileIndex).add(animatingCard);
-                    animatingCard = null; // Animasyon bitti, kart artık destede
-                }
+    /**
+     * Destede yerinde çizilecek kart sayısı; sürüklenen ve henüz inmemiş kartlar çizilmez.
+     */
+    private int visibleCardCount(int pile) {
+        return (pile == dragSourcePile ? dragStartIndex : gameState.size(pile)) - inFlight[pile];
+    }
 
-                currentCardInTableauPile++; // Destenin bir sonraki kartına geç
+    /**
+     * Destenin üstündeki {@code count} kartı verilen noktadan yerlerine uçurur.
+     * Hamle motora önceden uygulanmış olmalıdır; kartlar inene kadar destede çizilmez.
+     *
+     * @param onLand Kartlar indiğinde çalışır; null olabilir.
+     */
+    private void flyCards(int pile, int count, Point start, long duration, Runnable onLand) {
+        int size = gameState.size(pile);
+        int[] cards = new int[count];
+        for (int i = 0; i < count; i++) {
+            cards[i] = gameState.card(pile, size - count + i);
+        }
+        inFlight[pile] += count;
+        startFlight(new CardFlight(pile, cards, start, cardLocation(pile, size - count), 0, duration, onLand));
+    }
 
-                // Tüm tableau destelerine kartlar dağıtıldı mı kontrol et
-                boolean allCardsDealt = true;
-                for (int i = 0; i < 7; i++) {
-                    // Her destede kendi indeksi kadar kart olmalı (+1, çünkü indeks 0'dan başlıyor)
-                    // Örneğin 0. destede 1 kart, 1. destede 2 kart vb.
-                    if (tableauPiles.get(i).size() < (i + 1)) {
-                        allCardsDealt = false;
-                        break;
-                    }
-                }
+    private void startFlight(CardFlight flight) {
+        flight.lift();
+        animator.start(flight);
+    }
 
-                if (!allCardsDealt) { // Hala kart dağıtılacak tableau destesi var
-                    // Mevcut destedeki tüm kartlar dağıtıldıysa bir sonraki desteye geç
-                    if (currentTableauPileIndex < 7 && currentCardInTableauPile > currentTableauPileIndex) {
-                        currentTableauPileIndex++; // Bir sonraki tableau destesine geç
-                        currentCardInTableauPile = 0; // Kart sayacını sıfırla
-                    }
-                    if (currentTableauPileIndex < 7) { // Bir sonraki tableau destesi için kart varsa
-                         prepareNextCardForAnimation();
-                    } else { // Tüm tableau destelerine dağıtım tamamlandı
-                        dealingAnimationActive = false;
-                        gameStarted = true; // Oyun artık manuel etkileşime hazır
-                        ((Timer) e.getSource()).stop(); // Animasyon zamanlayıcısını durdur
-                        // Animasyon bitti, zamanlayıcıyı BAŞLAT
-                        if (menuPanel != null) {
-                            menuPanel.startTimer(); 
-                        }
-                    }
-                } else { // Tüm kartlar dağıtıldı (animasyon bitti)
-                    dealingAnimationActive = false;
-                    gameStarted = true; // Oyun artık manuel etkileşime hazır
-                    ((Timer) e.getSource()).stop(); // Animasyon zamanlayıcısını durdur
-                    // Animasyon bitti, zamanlayıcıyı BAŞLAT
-                    if (menuPanel != null) {
-                        menuPanel.startTimer();
-                    }
-                }
-            }
-            repaint(); // Her kareyi yeniden çiz
-        });
-        animationTimer.start();
+    /**
+     * Havadaki kartları hemen yerlerine indirir; oyuncunun yeni hamlesi eski
+     * animasyonun bitmesini beklemez.
+     */
+    private void finishAnimations() {
+        animator.finishAll();
     }
 
-    private void prepareNextCardForAnimation() {
-        // Eğer stok destesi boşsa veya tüm tableau desteleri dolduysa animasyonu durdur
-        if (stockPile.isEmpty()) {
-            dealingAnimationActive = false;
-            gameStarted = true;
-            if (animationTimer != null && animationTimer.isRunning()) {
-                animationTimer.stop();
-            }
-            // Tüm kartlar dağıtıldıysa (veya stok boşsa), zamanlayıcıyı başlat.
-            // Bu kontrol animasyon döngüsünün dışından da gelebilir, emin olmak için bırakıyoruz.
-            if (menuPanel != null) {
-                menuPanel.startTimer();
+    /**
+     * Tüm animasyonları inme işlemleri çalıştırılmadan durdurur; yeni oyunda kullanılır.
+     */
+    private void cancelAnimations() {
+        animator.cancelAll();
+        Arrays.fill(inFlight, 0); // Havadaki kartlar bir sonraki invalidateBoard() ile yerlerine konur
+        nextFlightZ = FLIGHT_Z;
+        dealingAnimationActive = false;
+        autoCompleteActive = false;
+        winCascade = null;
+        synchronized (boardLayerLock) {
+            winTrail = null;
+        }
+    }
+
+    /**
+     * Destedeki bir kartın tahtadaki sol üst köşesi.
+     */
+    private Point cardLocation(int pile, int index) {
+        return new Point(BoardLayout.cardX(pile), BoardLayout.cardY(pile, index));
+    }
+
+    /**
+     * Stok ve atık boşalıp tüm kartlar açıldığında kalan kartları hedeflere
+     * kare hızında, tek tek uçurarak oyunu bitirir. Bitişte normal kazanma
+     * akışı ({@link #checkWinCondition()} / {@link #handleWin()}) çalışır.
+     */
+    private void startAutoComplete() {
+        autoCompleteActive = true;
+        playNextAutoMove();
+    }
+
+    /**
+     * Sıradaki kartı hedefine uçurur; kart indiğinde bir sonrakine geçilir.
+     * Kart kalmadığında kazanma akışı animasyon karesinin dışında başlatılır,
+     * çünkü kazanma kutlaması havadaki animasyonları bitirerek başlar.
+     */
+    private void playNextAutoMove() {
+        if (!autoCompleteActive) {
+            return;
+        }
+        int move = nextAutoMove();
+        if (move == Move.NONE) {
+            autoCompleteActive = false;
+            if (checkWinCondition()) {
+                SwingUtilities.invokeLater(this::handleWin);
             }
             return;
         }
+        int from = Move.from(move);
+        Point start = cardLocation(from, gameState.size(from) - 1);
+        moveLog.apply(gameState, move);
+        flyCards(Move.to(move), 1, start, AUTO_MOVE_DURATION, this::playNextAutoMove);
+        repaintMove(move);
+    }
 
-        // Sıradaki tableau destesine uygun kart sayısı kontrolü
-        if (currentTableauPileIndex < 7 && tableauPiles.get(currentTableauPileIndex).size() < (currentTableauPileIndex + 1)) {
-            animatingCard = stockPile.pop(); // Stok destesinden kartı al
+    /**
+     * @return Hedefe gidebilecek en düşük değerli tableau kartının hamlesi veya kalmadıysa {@link Move#NONE}.
+     */
+    private int nextAutoMove() {
+        int best = Move.NONE;
+        int bestRank = Integer.MAX_VALUE;
+        for (int pile = GameState.TABLEAU; pile < GameState.PILE_COUNT; pile++) {
+            int card = gameState.top(pile);
+            if (card == Card.NONE || Card.rank(card) >= bestRank) {
+                continue;
+            }
+            int foundation = gameState.foundationTarget(card);
+            if (foundation >= 0) {
+                best = Move.of(pile, foundation, 1);
+                bestRank = Card.rank(card);
+            }
+        }
+        return best;
+    }
 
-            animationStartPoint = new Point(STOCK_PILE_X, STOCK_PILE_Y); // Başlangıç: Stock Pile
-            animationEndPoint = new Point(
-                TABLEAU_START_X + (currentTableauPileIndex * (CARD_WIDTH + CARD_HORIZONTAL_SPACING)),
-                TABLEAU_START_Y + (currentCardInTableauPile * CARD_OVERLAP_Y)
-            ); // Bitiş: İlgili tableau destesinin konumu
 
-            animationStartTime = System.currentTimeMillis(); // Yeni animasyonun başlangıç zamanı
-        } else if (currentTableauPileIndex < 7) {
-            // Mevcut desteye dağıtılacak tüm kartlar dağıtıldı, bir sonraki desteye geç
-            currentTableauPileIndex++;
-            currentCardInTableauPile = 0; // Kart sayacını sıfırla
-            prepareNextCardForAnimation(); // Tekrar çağırarak yeni desteye kart hazırlamasını sağla
-        } else {
-            // Tüm tableau desteleri doldu, ancak hala stokta kart kalmışsa (olmamalı, ama güvenlik)
-            dealingAnimationActive = false;
-            gameStarted = true;
-            if (animationTimer != null && animationTimer.isRunning()) {
-                animationTimer.stop();
-            }
-            if (menuPanel != null) {
-                menuPanel.startTimer(); // Tüm dağıtım bittiğinde başlat
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        super.setBounds(x, y, width, height);
+        if (renderer != null) {
+            renderer.getCanvas().setBounds(0, 0, width, height);
+            requestFrame();
+        }
+        // Büyütme değişince kartlar yeni boyutta yeniden yerleşir; katman yeni boyutta baştan çizilir
+        if (layout.setSize(width, height)) {
+            if (winTrail != null) {
+                // İzler eski ölçekte basıldı; kutlama burada biter
+                stopWinCascade();
+                synchronized (boardLayerLock) {
+                    winTrail = null;
+                }
             }
+            repaint();
         }
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (renderer != null) {
+            renderer.start();
+            requestFrame();
+        }
+    }
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    public void removeNotify() {
+        if (renderer != null) {
+            renderer.stop();
+        }
+        super.removeNotify();
+    }
 
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setFont(new Font("Arial", Font.BOLD, 16));
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        // Hedef destelerini çiz (Foundation Piles)
-        for (int i = 0; i < 4; i++) {
-            int currentX = FOUNDATION_START_X + (i * (CARD_WIDTH + CARD_HORIZONTAL_SPACING));
-            int currentY = FOUNDATION_START_Y;
-            if (foundationPiles.get(i).isEmpty()) {
-                drawEmptyCardSlot(g2d, currentX, currentY);
-                // Burada "A" yerine simgeleri çizdiriyoruz
-                g2d.setFont(new Font("Arial", Font.BOLD, 24)); // Semboller için daha büyük font
-                FontMetrics fm = g2d.getFontMetrics();
-                String text = "";
-                // Foundation destelerinin sırasına göre uygun sembolü belirle
-                // Genellikle kupa, karo, sinek, maça sırası kullanılır
-                switch (i) {
-                    case 0: text = "♥"; g2d.setColor(Color.RED); break; // Kupa
-                    case 1: text = "♦"; g2d.setColor(Color.RED); break; // Karo
-                    case 2: text = "♣"; g2d.setColor(Color.BLACK); break; // Sinek
-                    case 3: text = "♠"; g2d.setColor(Color.BLACK); break; // Maça
-                }
-                int textWidth = fm.stringWidth(text);
-                int textHeight = fm.getHeight();
-                g2d.drawString(text, currentX + (CARD_WIDTH - textWidth) / 2, currentY + (CARD_HEIGHT - textHeight) / 2 + fm.getAscent());
-                g2d.setFont(new Font("Arial", Font.BOLD, 16)); // Eski fonta geri dön
+    /**
+     * Etkin çizim kipinde ağır Canvas, tahtanın üstündeki hafif bileşenleri
+     * (duraklatma menüsü) örter; bu yüzden tahta devre dışıyken gizlenir ve
+     * tahtayı yeniden Swing çizer. Etkinleşince yeni kare yayımlanır.
+     * Yan menüdeki geri al/yinele düğmeleri de tahtayla birlikte kapanır.
+     */
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        if (menuPanel != null) {
+            menuPanel.setMoveEditingEnabled(enabled);
+        }
+        if (renderer != null) {
+            Canvas canvas = renderer.getCanvas();
+            canvas.setEnabled(enabled);
+            canvas.setVisible(enabled);
+            if (enabled) {
+                requestFrame();
             } else {
-                drawCard(g2d, foundationPiles.get(i).peek(), currentX, currentY);
-            }
-        }
-
-        // Çekme Destesini (Stock Pile) çiz
-        if (stockPile.isEmpty() && !dealingAnimationActive) {
-            drawEmptyCardSlot(g2d, STOCK_PILE_X, STOCK_PILE_Y);
-            g2d.setColor(Color.LIGHT_GRAY);
-            g2d.setFont(new Font("Arial", Font.BOLD, 18));
-            FontMetrics fm = g2d.getFontMetrics();
-            String text = "BOŞ";
-            int textWidth = fm.stringWidth(text);
-            g2d.drawString(text, STOCK_PILE_X + (CARD_WIDTH - textWidth) / 2, STOCK_PILE_Y + CARD_HEIGHT / 2);
-            g2d.setFont(new Font("Arial", Font.BOLD, 16));
-        } else if (!stockPile.isEmpty() && !dealingAnimationActive) {
-            // Animasyon yoksa ve stok destesi doluysa üstteki kartı kapalı çiz
-            drawCard(g2d, stockPile.peek(), STOCK_PILE_X, STOCK_PILE_Y);
-        } else if (dealingAnimationActive && animatingCard == null && !stockPile.isEmpty()) {
-             // Animasyon aktif ama henüz yeni kart alınmadıysa veya önceki kart bittiyse stok destesini göster
-             drawCard(g2d, stockPile.peek(), STOCK_PILE_X, STOCK_PILE_Y);
-        } else if (dealingAnimationActive && stockPile.isEmpty() && animatingCard != null) {
-             // Son kart hareket ediyorsa ve stok boşaldıysa, boş slotu göster
-             drawEmptyCardSlot(g2d, STOCK_PILE_X, STOCK_PILE_Y);
-        }
-
-
-        // Atık Destesini (Waste Pile) çiz - Sadece en üstteki kartı çiziyoruz.
-        if (wastePile.isEmpty()) {
-            drawEmptyCardSlot(g2d, WASTE_PILE_X, WASTE_PILE_Y);
+                repaint(); // Canvas gizlendi; bu çizim Swing'e gider
+            }
+        }
+    }
+
+    /**
+     * Etkin çizim kipinde Swing'in yeniden çizimi yerine çizim iş parçacığına
+     * yeni kare verilir; Canvas gizliyken tahtayı Swing çizer.
+     */
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
+        if (renderer != null && renderer.getCanvas().isVisible()) {
+            requestFrame();
         } else {
-            drawCard(g2d, wastePile.peek(), WASTE_PILE_X, WASTE_PILE_Y);
+            super.repaint(tm, x, y, width, height);
         }
+    }
 
+    /**
+     * Aynı olay turundaki tüm değişiklikler için tek kare yayımlar; herhangi bir iş parçacığından çağrılabilir.
+     */
+    private void requestFrame() {
+        if (framePending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::publishFrame);
+        }
+    }
 
-        // Oyun alanı destelerini çiz (Tableau Piles)
-        for (int i = 0; i < tableauPiles.size(); i++) {
-            List<Card> pile = tableauPiles.get(i);
-            int currentX = TABLEAU_START_X + (i * (CARD_WIDTH + CARD_HORIZONTAL_SPACING));
-            int currentY = TABLEAU_START_Y;
+    private void publishFrame() {
+        framePending.set(false);
+        Canvas canvas = renderer.getCanvas();
+        GraphicsConfiguration configuration = canvas.getGraphicsConfiguration();
+        if (configuration != null && canvas.isVisible() && canvas.getWidth() > 0 && canvas.getHeight() > 0) {
+            renderer.publish(captureFrame(configuration.getDefaultTransform().getScaleX()));
+            // Kare çizim iş parçacığına verildi; sürükleme gecikmesi burada ölçülür
+            recordDragLatency();
+        }
+    }
 
-            if (pile.isEmpty()) {
-                drawEmptyCardSlot(g2d, currentX, currentY);
-            } else {
-                for (Card card : pile) {
-                    // Sürüklenen veya animasyonlu kartı orijinal yerinde çizme
-                    if (card != animatingCard && (draggedCardPile == null || !draggedCardPile.contains(card)) && card != draggedCard) {
-                        drawCard(g2d, card, currentX, currentY);
-                    }
-                    currentY += CARD_OVERLAP_Y;
+    /**
+     * Tahtanın o anki görünümünü çizim iş parçacığına verilecek değişmez kareye çevirir.
+     *
+     * @param deviceScale Canvas'ın bulunduğu ekranın ölçeği.
+     */
+    private BoardFrame captureFrame(double deviceScale) {
+        synchronized (boardLayerLock) {
+            layout.setDeviceScale(deviceScale);
+            updateSprites();
+            int width = (int) Math.ceil(getWidth() * deviceScale);
+            int height = (int) Math.ceil(getHeight() * deviceScale);
+            BufferedImage trail = winTrail != null && winTrail.getWidth() == width && winTrail.getHeight() == height
+                    ? renderer.copyTrail(winTrail) : null;
+
+            int[] slots = new int[GameState.PILE_COUNT * 3];
+            int slotCount = 0;
+            for (int pile = 0; pile < GameState.PILE_COUNT; pile++) {
+                if (isSlotVisible(pile)) {
+                    slots[slotCount++] = pile;
+                    slots[slotCount++] = layout.deviceX(BoardLayout.cardX(pile));
+                    slots[slotCount++] = layout.deviceY(BoardLayout.cardY(pile, 0));
+                }
+            }
+            CardScene.CardNode[] nodes = scene.ordered();
+            int[] cards = new int[nodes.length * 4];
+            int cardCount = 0;
+            for (CardScene.CardNode node : nodes) {
+                if (node.isVisible()) {
+                    cards[cardCount++] = node.getCode();
+                    cards[cardCount++] = layout.deviceX(node.getX());
+                    cards[cardCount++] = layout.deviceY(node.getY());
+                    cards[cardCount++] = node.getHeight();
                 }
             }
+            return new BoardFrame(width, height, getBackground(), sprites, Arrays.copyOf(slots, slotCount),
+                    Arrays.copyOf(cards, cardCount), trail);
         }
+    }
 
-        // Animasyonlu kartı çiz (eğer varsa)
-        if (dealingAnimationActive && animatingCard != null) {
-            long elapsed = System.currentTimeMillis() - animationStartTime;
-            double progress = (double) elapsed / ANIMATION_DURATION;
-            if (progress > 1.0) progress = 1.0;
+    @Override
+    protected void paintComponent(Graphics g) {
+        long paintStart = System.nanoTime();
+        Graphics2D g2d = (Graphics2D) g;
+        AffineTransform transform = g2d.getTransform();
 
-            int currentAnimX = (int) (animationStartPoint.x + (animationEndPoint.x - animationStartPoint.x) * progress);
-            int currentAnimY = (int) (animationStartPoint.y + (animationEndPoint.y - animationStartPoint.y) * progress);
-            drawCard(g2d, animatingCard, currentAnimX, currentAnimY);
-        }
+        // Çizim başka iş parçacığından da (getBoardImage) yapılabildiği için yerleşim,
+        // atlas ve katman kilitle korunur
+        synchronized (boardLayerLock) {
+            layout.setDeviceScale(transform.getScaleX());
+            updateSprites();
 
+            // Hareket etmeyen her şey tek kopyalamayla; panel opak, katman tüm alanı kaplar
+            if (!updateBoardLayer()) {
+                super.paintComponent(g);
+                return;
+            }
 
-        // Sürüklenen kartı/kart yığınını en üstte çiz
-        if (draggedCard != null || draggedCardPile != null) {
-            // Fare pozisyonunu almak için
-            Point mouseLoc = MouseInfo.getPointerInfo().getLocation();
-            SwingUtilities.convertPointFromScreen(mouseLoc, this);
+            // Kartlar aygıt pikselinde, ölçeklenmeden kopyalanır
+            g2d.setTransform(AffineTransform.getTranslateInstance(
+                    Math.rint(transform.getTranslateX()), Math.rint(transform.getTranslateY())));
+            try {
+                if (winTrail != null && winTrail.getWidth() == boardLayer.getWidth()
+                        && winTrail.getHeight() == boardLayer.getHeight()) {
+                    g2d.drawImage(winTrail, 0, 0, null);
+                } else {
+                    g2d.drawImage(boardLayer, 0, 0, null);
+                    paintMovingCards(g2d);
+                }
+            } finally {
+                g2d.setTransform(transform);
+            }
+        }
 
-            int currentDragX = mouseLoc.x - dragOffsetX;
-            int currentDragY = mouseLoc.y - dragOffsetY;
+        // Animasyon karesinin süresine çizim de dahildir
+        if (animator.isActive() && SwingUtilities.isEventDispatchThread()) {
+            animator.addPaintTime(System.nanoTime() - paintStart);
+        }
+    }
 
-            if (draggedCardPile != null) { // Yığın sürükleniyorsa
-                for (int i = 0; i < draggedCardPile.size(); i++) {
-                    Card cardInPile = draggedCardPile.get(i);
-                    drawCard(g2d, cardInPile,
-                             currentDragX,
-                             currentDragY + (i * CARD_OVERLAP_Y));
-                }
-            } else if (draggedCard != null) { // Tek kart sürükleniyorsa
-                drawCard(g2d, draggedCard,
-                         currentDragX,
-                         currentDragY);
+    /**
+     * Arka planı, yuvaları ve yerinde duran tüm desteleri çizer; hareket eden
+     * kartlar {@link #paintMovingCards(Graphics2D)} ile üstüne çizilir.
+     *
+     * @param clip Yalnızca bu bölgeye değen desteler çizilir; null ise tümü.
+     */
+    private void paintPiles(Graphics2D g2d, Rectangle clip) {
+        // Boş destelerin yuvaları: hedefte sıradaki simge, stokta yeniden çevirme işareti
+        for (int pile = 0; pile < GameState.PILE_COUNT; pile++) {
+            if (isPileDirty(clip, pile) && isSlotVisible(pile)) {
+                sprites.drawPileSlot(g2d, pile, layout.deviceX(BoardLayout.cardX(pile)),
+                        layout.deviceY(BoardLayout.cardY(pile, 0)));
             }
         }
+
+        paintNodes(g2d, clip, false);
     }
 
     /**
-     * Tek bir kartı çizmek için yardımcı metod.
-     * Kartın açık veya kapalı olmasına göre farklı çizim yapar.
+     * @return Destenin görünen kartı yoksa, yani yuvası çizilecekse true.
      */
-    private void drawCard(Graphics2D g2d, Card card, int x, int y) {
-        if (card.isFaceUp()) {
-            g2d.setColor(Color.WHITE);
-            g2d.fillRect(x, y, CARD_WIDTH, CARD_HEIGHT);
-            g2d.setColor(Color.BLACK);
-            g2d.drawRect(x, y, CARD_WIDTH, CARD_HEIGHT);
+    private boolean isSlotVisible(int pile) {
+        return pile == GameState.STOCK ? gameState.isEmpty(GameState.STOCK) : visibleCardCount(pile) == 0;
+    }
 
-            if (card.getSuit() == Card.Suit.HEARTS || card.getSuit() == Card.Suit.DIAMONDS) {
-                g2d.setColor(Color.RED);
-            } else {
-                g2d.setColor(Color.BLACK);
+    /**
+     * Sahnedeki kartları z sırasıyla çizer.
+     *
+     * @param clip   Bu bölgeye değmeyen kartlar atlanır; null ise tümü çizilir.
+     * @param moving true ise yalnızca hareket eden, false ise yalnızca yerinde duran kartlar.
+     */
+    private void paintNodes(Graphics2D g2d, Rectangle clip, boolean moving) {
+        for (CardScene.CardNode node : scene.ordered()) {
+            if (!node.isVisible() || node.isMoving() != moving
+                    || (clip != null && !clip.intersects(node.getBounds()))) {
+                continue;
             }
-
-            String rankChar;
-            switch (card.getRank()) {
-                case ACE:   rankChar = "A"; break;
-                case TWO:   rankChar = "2"; break;
-                case THREE: rankChar = "3"; break;
-                case FOUR:  rankChar = "4"; break;
-                case FIVE:  rankChar = "5"; break;
-                case SIX:   rankChar = "6"; break;
-                case SEVEN: rankChar = "7"; break;
-                case EIGHT: rankChar = "8"; break;
-                case NINE:  rankChar = "9"; break;
-                case TEN:   rankChar = "10"; break;
-                case JACK:  rankChar = "J"; break;
-                case QUEEN: rankChar = "Q"; break;
-                case KING:  rankChar = "K"; break;
-                default:    rankChar = "";
+            if (node.getHeight() < CARD_HEIGHT) {
+                drawCardTop(g2d, node.getCode(), node.getX(), node.getY(), node.getHeight());
+            } else {
+                drawCard(g2d, node.getCode(), node.getX(), node.getY());
             }
+        }
+    }
 
-            String suitChar;
-            switch (card.getSuit()) {
-                case CLUBS:    suitChar = "♣"; break;
-                case DIAMONDS: suitChar = "♦"; break;
-                case HEARTS:   suitChar = "♥"; break;
-                case SPADES:   suitChar = "♠"; break;
-                default:       suitChar = "";
+    /**
+     * Destenin kartlarını sahnede yerlerine koyar. Sürüklenen ve henüz inmemiş
+     * kartların konumunu sürükleme ve uçuş belirler; onlara dokunulmaz.
+     */
+    private void layoutPile(int pile) {
+        int visible = visibleCardCount(pile);
+        int x = BoardLayout.cardX(pile);
+        for (int j = 0; j < visible; j++) {
+            int code = gameState.card(pile, j);
+            if (j == visible - 1) {
+                scene.place(code, x, BoardLayout.cardY(pile, j), pile * PILE_Z + j, CARD_HEIGHT);
+            } else if (GameState.isTableau(pile)) {
+                // Üzerine kart binenlerin yalnızca görünen üst şeridi çizilir
+                scene.place(code, x, BoardLayout.cardY(pile, j), pile * PILE_Z + j, CARD_OVERLAP_Y);
+            } else {
+                scene.hide(code); // Diğer destelerde yalnızca üstteki kart görünür
             }
+        }
+    }
 
-            // --- KARTIN KÖŞESİNDEKİ KÜÇÜK METİN (ORTALANMAMIŞ) ---
-            g2d.setFont(new Font("Arial", Font.BOLD, 14)); // Köşe için daha küçük font
-            FontMetrics fmCorner = g2d.getFontMetrics();
-            String cornerText = rankChar + suitChar;
-            int cornerTextX = x + 5; // Sol üst köşeden biraz içeride
-            int cornerTextY = y + fmCorner.getAscent() + 5; // Sol üst köşeden biraz aşağıda
-            g2d.drawString(cornerText, cornerTextX, cornerTextY);
-
+    /**
+     * Sürüklenen kartları sahnede son fare konumuna taşır.
+     */
+    private void layoutDraggedCards() {
+        int size = gameState.size(dragSourcePile);
+        for (int i = dragStartIndex; i < size; i++) {
+            int code = gameState.card(dragSourcePile, i);
+            scene.lift(code, DRAG_Z + i - dragStartIndex, i == size - 1 ? CARD_HEIGHT : CARD_OVERLAP_Y);
+            scene.move(code, dragX, dragY + (i - dragStartIndex) * CARD_OVERLAP_Y);
+        }
+    }
 
-            // --- KARTIN ORTASINDAKİ BÜYÜK METİN (ORTALANMIŞ) ---
-            String mainCardText = rankChar; // Sadece rütbe ortada
-            String mainSuitText = suitChar; // Sadece tür ortada
+    /**
+     * Dağıtılan, otomatik bitirmede uçan ve sürüklenen kartları çizer.
+     */
+    private void paintMovingCards(Graphics2D g2d) {
+        // Uçan kartlar zamanlayıcının, sürüklenenler son fare olayının verdiği konumda
+        Rectangle clip = g2d.getClipBounds();
+        paintNodes(g2d, clip != null ? layout.toBoard(clip) : null, true);
 
-            g2d.setFont(new Font("Arial", Font.BOLD, 36)); // Merkezdeki metin için daha büyük font
-            FontMetrics fmCenter = g2d.getFontMetrics();
+        if (SwingUtilities.isEventDispatchThread()) {
+            recordDragLatency();
+        }
+    }
 
-            // Rütbeyi ortala
-            int rankTextWidth = fmCenter.stringWidth(mainCardText);
-            int rankTextX = x + (CARD_WIDTH - rankTextWidth) / 2;
-            // Metin yüksekliğini dikkate alarak dikeyde ortalama ve hafif yukarı taşıma
-            int rankTextY = y + (CARD_HEIGHT / 2) - (fmCenter.getHeight() / 2) + fmCenter.getAscent() - 10;
+    /**
+     * Sürüklenen kartların bekleyen konumu bir kareye girdiyse, o konumu getiren
+     * ilk fare olayından bu yana geçen süreyi kaydeder. Olay iş parçacığında çağrılır.
+     */
+    private void recordDragLatency() {
+        if (dragSourcePile != -1 && frameInputTime != 0) {
+            dragLatency.record(System.nanoTime() - frameInputTime);
+            frameInputTime = 0;
+        }
+    }
 
-            g2d.drawString(mainCardText, rankTextX, rankTextY);
+    /**
+     * Önbellek katmanını gerekirse yeniden oluşturur ve kirli bölgesini çizer.
+     * Katman aygıt piksel çözünürlüğündedir; boyut veya ölçek değişirse tamamı çizilir.
+     *
+     * @return Panelin henüz boyutu yoksa false.
+     */
+    private boolean updateBoardLayer() {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return false;
+        }
+        double scale = layout.getScale();
+        int pixelWidth = (int) Math.ceil(width * layout.getDeviceScale());
+        int pixelHeight = (int) Math.ceil(height * layout.getDeviceScale());
+        if (boardLayer == null || boardLayer.getWidth() != pixelWidth || boardLayer.getHeight() != pixelHeight
+                || boardLayerScale != scale) {
+            GraphicsConfiguration configuration = getGraphicsConfiguration();
+            boardLayer = configuration != null
+                    ? configuration.createCompatibleImage(pixelWidth, pixelHeight)
+                    : new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_RGB);
+            boardLayerScale = scale;
+            boardLayerDirty = layout.getVisibleBoardBounds();
+        }
+        if (boardLayerDirty != null) {
+            Rectangle area = layout.toDevice(boardLayerDirty);
+            Graphics2D layer = boardLayer.createGraphics();
+            layer.clip(area);
+            layer.setColor(getBackground());
+            layer.fill(area);
+            paintPiles(layer, boardLayerDirty);
+            layer.dispose();
+            boardLayerDirty = null;
+        }
+        return true;
+    }
 
-            // Türü (Suit) ortala, rütbenin biraz altında
-            int suitTextWidth = fmCenter.stringWidth(mainSuitText);
-            int suitTextX = x + (CARD_WIDTH - suitTextWidth) / 2;
-            // Metin yüksekliğini dikkate alarak dikeyde ortalama ve rütbenin altında konumlandırma
-            int suitTextY = y + (CARD_HEIGHT / 2) + (fmCenter.getHeight() / 2) + fmCenter.getAscent() - 10;
+    /**
+     * Katmanın verilen bölgesini bir sonraki çizimde yenilenmek üzere işaretler.
+     */
+    private void invalidateLayer(Rectangle area) {
+        stateVersion++;
+        synchronized (boardLayerLock) {
+            if (boardLayerDirty == null) {
+                boardLayerDirty = new Rectangle(area);
+            } else {
+                boardLayerDirty.add(area);
+            }
+        }
+    }
 
-            g2d.drawString(mainSuitText, suitTextX, suitTextY);
+    /**
+     * Tüm katmanı geçersiz kılar ve tahtayı yeniden çizer; yeni dağıtımda kullanılır.
+     */
+    private void invalidateBoard() {
+        for (int pile = 0; pile < GameState.PILE_COUNT; pile++) {
+            layoutPile(pile);
+        }
+        invalidateLayer(layout.getVisibleBoardBounds());
+        repaint();
+    }
 
+    /**
+     * Destenin katmandaki görüntüsünü yeniler ve alanını yeniden çizer.
+     */
+    private void repaintPile(int pile) {
+        layoutPile(pile);
+        Rectangle bounds = pileBounds(pile);
+        invalidateLayer(bounds);
+        repaintBoard(bounds);
+    }
 
-        } else {
-            // Kart kapalı olduğunda Back.png resmini çiz
-            if (backImage != null) {
-                g2d.drawImage(backImage, x, y, CARD_WIDTH, CARD_HEIGHT, this);
-            } else {
-                // Resim yüklenemezse veya bulunamazsa, eski varsayılan mavi arka planı çizmeye devam et
-                g2d.setColor(new Color(0, 0, 150));
-                g2d.fillRect(x, y, CARD_WIDTH, CARD_HEIGHT);
-                g2d.setColor(Color.BLACK);
-                g2d.drawRect(x, y, CARD_WIDTH, CARD_HEIGHT);
+    /**
+     * Tahta koordinatlarındaki alanın panelde kapladığı yeri yeniden çizer.
+     */
+    private void repaintBoard(Rectangle area) {
+        stateVersion++; // Sürüklenen ve uçan kartlar katmanı değiştirmeden görünümü değiştirir
+        repaint(layout.toComponent(area));
+    }
 
-                g2d.setColor(Color.WHITE);
-                g2d.setFont(new Font("Serif", Font.PLAIN, 12));
-                String backText = "Solitaire";
-                FontMetrics fmBack = g2d.getFontMetrics();
-                int backTextWidth = fmBack.stringWidth(backText);
-                g2d.drawString(backText, x + (CARD_WIDTH - backTextWidth) / 2, y + CARD_HEIGHT / 2);
-            }
+    /**
+     * Kart atlasını yerleşimin ölçeğine (büyütme × ekran ölçeği) göre hazırlar.
+     * Her ölçeğin atlası saklanır; pencere büyütülüp küçültüldüğünde veya pencere
+     * başka ölçekli ekrana taşındığında atlas yeniden çizilmez.
+     */
+    private void updateSprites() {
+        double scale = layout.getScale();
+        if (sprites != null && sprites.matches(scale, backImage)) {
+            return;
+        }
+        sprites = spriteCache.get(scale);
+        if (sprites == null || !sprites.matches(scale, backImage)) {
+            sprites = new CardSprites(CARD_WIDTH, CARD_HEIGHT, backImage, scale, getGraphicsConfiguration());
+            spriteCache.put(scale, sprites);
         }
     }
 
     /**
-     * Boş kart yuvasını çizmek için yardımcı metod.
+     * Tek bir kartı çizmek için yardımcı metod.
+     * Kartın açık veya kapalı olmasına göre atlastaki yüzü veya arka yüzü kopyalar.
+     */
+    private void drawCard(Graphics2D g2d, int code, int x, int y) {
+        sprites.drawCard(g2d, code, layout.deviceX(x), layout.deviceY(y));
+    }
+
+    /**
+     * Kartın yalnızca üstteki {@code height} birimini çizer; üzerine kart binen tableau kartları için.
      */
-    private void drawEmptyCardSlot(Graphics2D g2d, int x, int y) {
-        g2d.setColor(new Color(0, 50, 0)); // Daha koyu yeşil boşluk
-        g2d.fillRect(x, y, CARD_WIDTH, CARD_HEIGHT);
-        g2d.setColor(new Color(50, 150, 50)); // Açık yeşil kenarlık
-        g2d.setStroke(new BasicStroke(2));
-        g2d.drawRect(x, y, CARD_WIDTH, CARD_HEIGHT);
-        g2d.setStroke(new BasicStroke(1));
+    private void drawCardTop(Graphics2D g2d, int code, int x, int y, int height) {
+        sprites.drawCardTop(g2d, code, layout.deviceX(x), layout.deviceY(y), height);
     }
 
 
@@ -531,33 +878,83 @@ public class GameBoard extends JPanel {
      * @return Oyun kazanıldıysa true, aksi takdirde false döner.
      */
     private boolean checkWinCondition() {
-        // Her bir Foundation destesini kontrol et
-        for (Stack<Card> foundationPile : foundationPiles) {
-            // Bir Foundation destesinde 13 kart (As'tan Papaz'a) olmalı
-            if (foundationPile.size() != 13) {
-                return false; // Herhangi bir deste eksikse kazanılmamıştır
-            }
-        }
-        return true; // Tüm foundation desteleri dolu ve doğru ise oyun kazanılmıştır
+        return gameState.isWon();
     }
 
     /**
-     * Oyun kazanıldığında çağrılır. Oyuncuya bilgi verir ve oyunu bitirir/yeniden başlatma seçeneği sunar.
+     * Oyun kazanıldığında çağrılır. Kazanma kutlamasını başlatır; kutlama bitince
+     * veya oyuncu tıklayınca yeni oyun sorulur.
      */
     private void handleWin() {
         gameWon = true; // Oyunun kazanıldığını işaretle
         gameStarted = false; // Oyunu durdur
-
-        // Animasyon timer'ını durdur (eğer açıksa)
-        if (animationTimer != null && animationTimer.isRunning()) {
-            animationTimer.stop();
-        }
+        writeReplay(true);
 
         // Oyun kazanıldığında menü panelindeki zamanlayıcıyı durdur
         if (menuPanel != null) { 
             menuPanel.onGameWon(); 
         } 
 
+        startWinCascade();
+    }
+
+    /**
+     * Kartların hedeflerden fırlayıp iz bırakarak zıpladığı kutlamayı başlatır.
+     * İz görüntüsü tahtanın o anki katmanının kopyasıdır ve kutlama boyunca silinmez.
+     */
+    private void startWinCascade() {
+        // Yinelemeyle kazanılan oyunda kartlar havada olabilir
+        finishAnimations();
+        synchronized (boardLayerLock) {
+            if (sprites == null || !updateBoardLayer()) {
+                // Tahta henüz hiç çizilmedi; kutlamasız devam edilir
+                askNewGame();
+                return;
+            }
+            winTrail = new BufferedImage(boardLayer.getWidth(), boardLayer.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D trail = winTrail.createGraphics();
+            trail.drawImage(boardLayer, 0, 0, null);
+            trail.dispose();
+            winCascade = WinCascade.create(gameState, layout, sprites, winTrail, RandomSource.seeded(seed),
+                    this::trailStamped, this::winCascadeFinished);
+        }
+        animator.start(winCascade);
+    }
+
+    /**
+     * Kutlamanın iz görüntüsüne kart bastığı bölgeyi (tahta koordinatları) yeniden çizer.
+     */
+    private void trailStamped(Rectangle area) {
+        if (renderer != null) {
+            renderer.trailChanged(layout.toDevice(area)); // Çizim iş parçacığının kopyaları da güncellenmeli
+        }
+        repaintBoard(area);
+    }
+
+    /**
+     * Kutlamayı hemen durdurur; izler yeni oyuna kadar ekranda kalır.
+     */
+    private void stopWinCascade() {
+        if (winCascade != null) {
+            animator.cancel(winCascade);
+            winCascadeFinished();
+        }
+    }
+
+    private void winCascadeFinished() {
+        winCascade = null;
+        // Pencere modaldir; animasyon karesinin dışında açılır
+        SwingUtilities.invokeLater(this::askNewGame);
+    }
+
+    /**
+     * Oyuncuya yeni oyun isteyip istemediğini sorar; istemezse oyunu kapatır.
+     */
+    private void askNewGame() {
+        if (!gameWon) {
+            return; // Bu arada menüden yeni oyun başlatıldı
+        }
+
         // Basit bir kazandınız mesajı göster
         int response = JOptionPane.showConfirmDialog(
             this,
@@ -569,6 +966,7 @@ public class GameBoard extends JPanel {
         if (response == JOptionPane.YES_OPTION) { // Düzeltme: JOptionPane.YES_OPTION olacak
             resetGame(); // Oyunu yeniden başlat
         } else {
+            saveGame(); // Oyun bittiği için eski kayıt silinir
             System.exit(0); // Uygulamayı kapat
         }
     }
@@ -577,16 +975,30 @@ public class GameBoard extends JPanel {
      * Oyunu başlangıç durumuna sıfırlar.
      */
     public void resetGame() {
-        // Önceki animasyon zamanlayıcısını durdur
-        if (animationTimer != null && animationTimer.isRunning()) {
-            animationTimer.stop();
+        resetGame(nextSeed());
+    }
+
+    /**
+     * Verilen tohumla yeni oyun başlatır; aynı tohum her zaman aynı dağıtımı verir.
+     */
+    public void resetGame(long seed) {
+        logFrameStats();
+
+        // Yarıda bırakılan oyunun tekrarını da sakla
+        if (!gameWon && moveLog.size() > 0) {
+            writeReplay(false);
         }
-        dealingAnimationActive = false; // Animasyon bayrağını sıfırla
+
+        // Eski dağıtım için çalışan çözücü varsa durdur
+        cancelSolver();
+
+        // Önceki dağıtım veya otomatik bitirme animasyonunu durdur
+        cancelAnimations();
         gameStarted = false; // Oyun başlangıç durumuna dönmeli
 
-        // Yeni desteyi oluştur ve karıştır
-        deck = new Deck();
-        deck.shuffle();
+        // Yeni desteyi tohumdan oluştur
+        this.seed = seed;
+        deck = new Deck(seed);
 
         // Tüm desteleri yeniden başlat ve animasyon sayaçlarını sıfırla
         initializePilesForAnimation();
@@ -604,323 +1016,497 @@ public class GameBoard extends JPanel {
     private class SolitaireMouseListener extends MouseAdapter {
         @Override
         public void mousePressed(MouseEvent e) {
-            // Animasyon devam ediyorsa veya oyun kazanılmışsa fare etkileşimini engelle
-            if (dealingAnimationActive || gameWon) return;
+            // Menü açıkken tahta devre dışıdır; Canvas'tan gelen olaylar da yok sayılır
+            if (!isEnabled()) return;
 
-            // Önceki sürükleme durumunu sıfırla
-            draggedCard = null;
-            draggedCardPile = null;
-            originalSourcePile = null;
-            originalSourcePileIndex = -1;
-
-            // Stock Pile'a tıklandı mı? (Manual kart çekme)
-            if (e.getX() >= STOCK_PILE_X && e.getX() <= STOCK_PILE_X + CARD_WIDTH &&
-                e.getY() >= STOCK_PILE_Y && e.getY() <= STOCK_PILE_Y + CARD_HEIGHT) {
-                if (!stockPile.isEmpty()) {
-                    Card dealtCard = stockPile.pop();
-                    dealtCard.setFaceUp(true); // Kartı aç
-                    wastePile.push(dealtCard); // Atık destesine koy
-                } else if (!wastePile.isEmpty()) {
-                    // Stock Pile boşsa ve Waste Pile doluysa, Waste Pile'ı tekrar Stock Pile'a aktar
-                    // Kartları ters çevir ve kapalı yap
-                    while (!wastePile.isEmpty()) {
-                        Card card = wastePile.pop();
-                        card.setFaceUp(false);
-                        stockPile.push(card);
-                    }
-                }
-                repaint(); // Değişikliği yansıt
-                return; // Başka bir işlem yapma
+            // Tıklama kazanma kutlamasını bitirir
+            if (winCascade != null) {
+                stopWinCascade();
+                return;
             }
 
-            // Waste Pile'dan kart sürükleme (sadece en üstteki kart)
-            if (!wastePile.isEmpty()) {
-                Card topWasteCard = wastePile.peek(); 
-                int wasteCardX = WASTE_PILE_X;
-                int wasteCardY = WASTE_PILE_Y;
+            // Animasyon devam ediyorsa veya oyun kazanılmışsa fare etkileşimini engelle
+            if (dealingAnimationActive || autoCompleteActive || gameWon) return;
 
-                if (e.getX() >= wasteCardX && e.getX() <= wasteCardX + CARD_WIDTH &&
-                    e.getY() >= wasteCardY && e.getY() <= wasteCardY + CARD_HEIGHT) {
+            // Geri alınan kartlar hâlâ uçuyorsa önce yerlerine insinler
+            finishAnimations();
 
-                    draggedCard = wastePile.pop(); // Kartı wastePile'dan kaldır
-                    originalSourcePile = wastePile; // Orijinal desteyi kaydet
+            int x = layout.toBoardX(e.getX());
+            int y = layout.toBoardY(e.getY());
 
-                    initialCardPosition = new Point(wasteCardX, wasteCardY); 
-                    dragOffsetX = e.getX() - wasteCardX;
-                    dragOffsetY = e.getY() - wasteCardY;
-                    repaint();
-                    return;
+            // Önceki sürükleme durumunu sıfırla
+            dragSourcePile = -1;
+            dragStartIndex = -1;
+
+            // Noktanın altındaki deste ve kart desteler taranmadan yerleşimden bulunur
+            int pile = BoardLayout.pileAt(x, y);
+            if (pile == GameState.STOCK) {
+                // Stok boşsa ve atık doluysa atık destesi stoğa geri aktarılır (Manual kart çekme)
+                if (!tryPlay(Move.DRAW)) {
+                    tryPlay(Move.RECYCLE);
                 }
+                return;
             }
-
-            // Tableau Piles'tan kart sürükleme
-            for (int i = 0; i < tableauPiles.size(); i++) {
-                List<Card> pile = tableauPiles.get(i);
-                int currentX = TABLEAU_START_X + (i * (CARD_WIDTH + CARD_HORIZONTAL_SPACING));
-                int currentY = TABLEAU_START_Y;
-
-                if (!pile.isEmpty()) {
-                    // Her bir kartın tıklanıp tıklanmadığını kontrol et
-                    for (int j = 0; j < pile.size(); j++) {
-                        Card card = pile.get(j);
-                        int cardAreaY = TABLEAU_START_Y + (j * CARD_OVERLAP_Y);
-                        int cardAreaHeight = (j == pile.size() - 1) ? CARD_HEIGHT : CARD_OVERLAP_Y; 
-
-                        if (e.getX() >= currentX && e.getX() <= currentX + CARD_WIDTH &&
-                            e.getY() >= cardAreaY && e.getY() <= cardAreaY + cardAreaHeight) {
-
-                            // Sadece açık kartlar veya açık kartın altındaki kartlar sürüklenmeli
-                            if (card.isFaceUp()) {
-                                // Sürüklenen karttan başlayarak o destedeki tüm açık kartları al
-                                List<Card> tempDraggedPile = new ArrayList<>(pile.subList(j, pile.size()));
-
-                                if (tempDraggedPile.size() == 1) { 
-                                    draggedCard = tempDraggedPile.get(0);
-                                    draggedCardPile = null; 
-                                } else { 
-                                    draggedCardPile = tempDraggedPile;
-                                    draggedCard = null; 
-                                }
-
-                                originalSourcePile = pile; // Orijinal desteyi kaydet (referans)
-                                originalSourcePileIndex = i; // Hangi tableau destesi olduğunu kaydet
-
-                                // Sürüklenen kartları desteden geçici olarak kaldır
-                                // Sondan başlayarak silmek ConcurrentModificationException'ı engeller
-                                for(int k = pile.size() - 1; k >= j; k--) {
-                                    pile.remove(k);
-                                }
-
-                                initialCardPosition = new Point(currentX, cardAreaY); 
-                                dragOffsetX = e.getX() - currentX;
-                                dragOffsetY = e.getY() - cardAreaY;
-
-                                repaint(); 
-                                return;
-                            }
-                        }
-                    }
-                }
+            if (pile == -1) {
+                return;
             }
 
-            // Foundation Piles'tan kart sürükleme (sadece en üstteki kart)
-            for (int i = 0; i < 4; i++) {
-                Stack<Card> pile = foundationPiles.get(i);
-                int currentX = FOUNDATION_START_X + (i * (CARD_WIDTH + CARD_HORIZONTAL_SPACING));
-                int currentY = FOUNDATION_START_Y;
-
-                if (!pile.isEmpty()) {
-                    Card topCard = pile.peek(); 
-                    if (e.getX() >= currentX && e.getX() <= currentX + CARD_WIDTH &&
-                        e.getY() >= currentY && e.getY() <= currentY + CARD_HEIGHT) {
-
-                        draggedCard = pile.pop(); // Kartı foundationPile'dan kaldır
-                        originalSourcePile = pile; // Orijinal desteyi kaydet
-
-                        initialCardPosition = new Point(currentX, currentY); 
-                        dragOffsetX = e.getX() - currentX;
-                        dragOffsetY = e.getY() - currentY;
-                        repaint();
-                        return;
-                    }
-                }
+            // Atık ve hedeflerden yalnızca en üstteki kart, tableau'dan açık kart ve üstündekiler sürüklenir
+            int index = BoardLayout.cardAt(pile, gameState.size(pile), y);
+            if (index != -1 && gameState.isFaceUp(pile, index)) {
+                startDrag(pile, index, x, y, BoardLayout.cardX(pile), BoardLayout.cardY(pile, index));
             }
         }
 
+        /**
+         * Sürüklemeyi başlatır. Kartlar motorda yerinde kalır; bırakılana kadar
+         * yalnızca kaynak destede çizilmezler.
+         */
+        private void startDrag(int pile, int startIndex, int x, int y, int cardX, int cardY) {
+            dragSourcePile = pile;
+            dragStartIndex = startIndex;
+            dragOffsetX = x - cardX;
+            dragOffsetY = y - cardY;
+            dragX = cardX;
+            dragY = cardY;
+            pendingDragX = cardX;
+            pendingDragY = cardY;
+            pendingInputTime = 0;
+            frameInputTime = 0;
+            // Kartlar katmandan çıkar, başlangıçta kaynak destede durdukları yerde çizilir
+            repaintPile(pile);
+            layoutDraggedCards();
+        }
+
         @Override
         public void mouseReleased(MouseEvent e) {
-            // Oyun kazanıldıysa veya sürüklenen bir kart yoksa işlem yapma
-            if (gameWon || (draggedCard == null && draggedCardPile == null)) {
+            // Oyun kazanıldıysa, tahta devre dışıysa veya sürüklenen bir kart yoksa işlem yapma
+            if (gameWon || !isEnabled() || dragSourcePile == -1) {
                 return;
             }
 
-            boolean placed = false;
-            Card cardToPlace = (draggedCardPile != null) ? draggedCardPile.get(0) : draggedCard; 
-
-            // Kartı bir Foundation destesine bırakmayı dene (öncelik verilebilir)
-            for (int i = 0; i < 4; i++) {
-                Stack<Card> targetFoundation = foundationPiles.get(i);
-                int targetX = FOUNDATION_START_X + (i * (CARD_WIDTH + CARD_HORIZONTAL_SPACING));
-                int targetY = FOUNDATION_START_Y;
-
-                if (e.getX() >= targetX && e.getX() <= targetX + CARD_WIDTH &&
-                    e.getY() >= targetY && e.getY() <= targetY + CARD_HEIGHT) {
-                    System.out.println("DEBUG: Hedef Foundation (" + i + ") üzerine bırakıldı.");
-                    // Sadece tek kart sürükleniyorsa ve foundation'a uygunsa bırak
-                    if (draggedCardPile == null) { 
-                        System.out.println("DEBUG: Tek kart sürükleniyor.");
-                        if (targetFoundation.isEmpty()) {
-                            System.out.println("DEBUG: Hedef Foundation boş.");
-                            // Boşsa, sadece As bırakılabilir
-                            if (cardToPlace.getRank() == Card.Rank.ACE) {
-                                targetFoundation.push(cardToPlace);
-                                placed = true;
-                                System.out.println("DEBUG: As başarıyla Foundation'a bırakıldı.");
-                                // KAZANMA KONTROLÜ BURADA
-                                if (checkWinCondition()) {
-                                    handleWin();
-                                }
-                                break; 
-                            } else {
-                                System.out.println("DEBUG: Boş Foundation'a sadece As bırakılabilir. Bırakılan kart: " + cardToPlace.getRank() + " " + cardToPlace.getSuit());
-                            }
-                        } else {
-                            System.out.println("DEBUG: Hedef Foundation boş değil.");
-                            Card topFoundationCard = targetFoundation.peek();
-                            System.out.println("DEBUG: Foundation'daki en üst kart: " + topFoundationCard.getRank() + " " + topFoundationCard.getSuit() + " (Ordinal: " + topFoundationCard.getRank().ordinal() + ")");
-                            System.out.println("DEBUG: Bırakılmak istenen kart: " + cardToPlace.getRank() + " " + cardToPlace.getSuit() + " (Ordinal: " + cardToPlace.getRank().ordinal() + ")");
-
-                            // Aynı tür ve bir üst değer olmalı
-                            boolean sameSuit = cardToPlace.getSuit() == topFoundationCard.getSuit();
-                            // Bırakılacak kartın rütbesi, hedef kartın rütbesinden bir fazla olmalı
-                            boolean correctRank = (cardToPlace.getRank().ordinal()) == (topFoundationCard.getRank().ordinal() + 1);
-
-                            System.out.println("DEBUG: sameSuit: " + sameSuit + ", correctRank: " + correctRank);
-
-                            if (sameSuit && correctRank) {
-                                targetFoundation.push(cardToPlace);
-                                placed = true;
-                                System.out.println("DEBUG: Kart başarıyla Foundation'a bırakıldı.");
-                                // KAZANMA KONTROLÜ BURADA
-                                if (checkWinCondition()) {
-                                    handleWin();
-                                }
-                                break; 
-                            } else {
-                                System.out.println("DEBUG: Kart Foundation kurallarına uymuyor. sameSuit: " + sameSuit + ", correctRank: " + correctRank);
-                            }
-                        }
-                    } else {
-                        System.out.println("DEBUG: Çoklu kart sürükleniyor, Foundation'a bırakılamaz.");
-                    }
-                }
+            dragFrameTimer.stop(); // Bekleyen konum artık çizilmeyecek
+            int move = dropMove(dragSourcePile, dragStartIndex,
+                    layout.toBoardX(e.getX()) - dragOffsetX, layout.toBoardY(e.getY()) - dragOffsetY);
+            // Sürüklenen kartların son çizildiği yer silinmeli; kaynak ve hedefi tryPlay yeniler
+            repaintBoard(dragBounds());
+            int sourcePile = dragSourcePile;
+            boolean placed = move != Move.NONE && tryPlay(move);
+
+            // Kart hiçbir yere bırakılamadıysa motorda zaten yerinde duruyor;
+            // sürükleme değişkenlerini sıfırlamak başlangıç konumuna geri koyar.
+            dragSourcePile = -1;
+            dragStartIndex = -1;
+
+            // KAZANMA KONTROLÜ BURADA
+            if (placed && checkWinCondition()) {
+                handleWin();
+            } else if (placed && gameState.canAutoComplete()) {
+                // Sonuç kesinleşti; kalan kartları oyuncu yerine hedeflere taşı
+                startAutoComplete();
             }
 
-            // Kartı bir Tableau destesine bırakmayı dene
-            if (!placed) {
-                for (int i = 0; i < tableauPiles.size(); i++) {
-                    List<Card> targetPile = tableauPiles.get(i);
-                    int targetX = TABLEAU_START_X + (i * (CARD_WIDTH + CARD_HORIZONTAL_SPACING));
-                    int targetY = TABLEAU_START_Y;
-
-                    // Eğer deste boşsa, hedef Y sadece başlangıç Y'si
-                    // Eğer doluysa, hedef Y son kartın altı + boşluk
-                    if (!targetPile.isEmpty()) {
-                        targetY = TABLEAU_START_Y + (targetPile.size() * CARD_OVERLAP_Y);
-                    }
+            // Bırakılamayan kartlar kaynak destede yeniden görünür
+            if (!placed && !gameWon) {
+                repaintPile(sourcePile);
+            }
+        }
+    }
 
-                    // Fare imlecinin kartın bırakıldığı yerdeki konumuna göre kontrol
-                    int mouseX = e.getX();
-                    int mouseY = e.getY();
-
-                    // Kartın bırakıldığı alan, hedef destenin üzerine denk geliyor mu?
-                    // Hedef alanı biraz genişletiyoruz ki kartı bırakmak kolay olsun
-                    if (mouseX >= targetX && mouseX <= targetX + CARD_WIDTH &&
-                        mouseY >= targetY && mouseY <= targetY + CARD_HEIGHT + CARD_OVERLAP_Y) {
-
-                        // Solitaire kuralı: Kırmızı üstüne siyah, büyük üstüne küçük (K, Q, J, 10...)
-                        // Hedef deste boşsa sadece Papaz (King) bırakılabilir.
-                        if (targetPile.isEmpty()) {
-                            if (cardToPlace.getRank() == Card.Rank.KING) {
-                                if (draggedCardPile != null) { // Bir yığın sürükleniyorsa
-                                    targetPile.addAll(draggedCardPile);
-                                } else { // Tek kart sürükleniyorsa
-                                    targetPile.add(draggedCard);
-                                }
-                                placed = true;
-                                break;
-                            }
-                        } else {
-                            Card topTargetCard = targetPile.get(targetPile.size() - 1);
-                            // Renkler farklı ve değerler artan sırada olmalı (target'ın bir altı olmalı)
-                            boolean sameColor = (cardToPlace.getSuit() == Card.Suit.HEARTS || cardToPlace.getSuit() == Card.Suit.DIAMONDS) ==
-                                                (topTargetCard.getSuit() == Card.Suit.HEARTS || topTargetCard.getSuit() == Card.Suit.DIAMONDS);
-                            // Bırakılacak kartın rütbesi, hedef kartın rütbesinden bir küçük olmalı
-                            boolean correctRank = (cardToPlace.getRank().ordinal() + 1) == topTargetCard.getRank().ordinal();
-
-                            if (!sameColor && correctRank) {
-                                if (draggedCardPile != null) {
-                                    targetPile.addAll(draggedCardPile);
-                                } else {
-                                    targetPile.add(draggedCard);
-                                }
-                                placed = true;
-                                break;
-                            }
-                        }
-                    }
+    private class SolitaireMouseMotionListener extends MouseMotionAdapter {
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            // Oyun kazanıldıysa veya tahta devre dışıysa kart sürüklemeyi engelle
+            if (gameWon || !isEnabled()) return;
+
+            if (dragSourcePile != -1) {
+                long now = System.nanoTime();
+                pendingDragX = layout.toBoardX(e.getX()) - dragOffsetX;
+                pendingDragY = layout.toBoardY(e.getY()) - dragOffsetY;
+                if (pendingInputTime == 0) {
+                    pendingInputTime = now; // Gecikme en uzun bekleyen, yani ilk olaydan ölçülür
+                }
+                if (dragFrameTimer.isRunning()) {
+                    return; // Bu karede çizim zaten planlandı; konum yalnızca güncellenir
+                }
+                long wait = lastDragFrameTime + frameIntervalNanos - now;
+                if (wait <= 0) {
+                    flushDragFrame();
+                } else {
+                    dragFrameTimer.setInitialDelay((int) ((wait + 999_999) / 1_000_000));
+                    dragFrameTimer.restart();
                 }
             }
-
-
-            // Eğer kart hiçbir yere bırakılamadıysa, başlangıç konumuna geri koy
-            if (!placed) {
-                if (originalSourcePile != null) {
-                    if (originalSourcePile instanceof Stack) { // Waste veya Foundation'dan geliyorsa
-                        if (draggedCard != null) {
-                            ((Stack<Card>) originalSourcePile).push(draggedCard);
-                        }
-                    } else if (originalSourcePile instanceof List) { // Tableau'dan geliyorsa
-                        // Tableau destesine geri eklemeden önce, kartların orijinal sıralamasını koru
-                        if (draggedCardPile != null && originalSourcePileIndex != -1) {
-                            // Orijinal desteye geri ekle
-                            List<Card> sourceTableau = tableauPiles.get(originalSourcePileIndex);
-                            sourceTableau.addAll(draggedCardPile);
-                        } else if (draggedCard != null && originalSourcePileIndex != -1) { // Tek karttableau'dan geliyorsa
-                            List<Card> sourceTableau = tableauPiles.get(originalSourcePileIndex);
-                            sourceTableau.add(draggedCard);
-                        }
-                    }
+        }
+    }
+    
+    /**
+     * Bir destenin {@code startIndex} kartından itibaren sürüklenen kartlar, ilk
+     * kartın sol üst köşesi (x, y) noktasındayken bırakıldığında oynanacak hamle.
+     * Kartın değdiği en fazla iki sütunun hedef ve tableau desteleri arasından,
+     * hamlesi geçerli olup kartla en çok örtüşen seçilir; tahta değiştirilmez.
+     *
+     * @return Geçerli hamle veya kart geçerli bir hedefe değmiyorsa {@link Move#NONE}.
+     */
+    public int dropMove(int sourcePile, int startIndex, int x, int y) {
+        int count = gameState.size(sourcePile) - startIndex;
+        int first = Math.max(0, BoardLayout.columnAt(x));
+        int last = Math.min(BoardLayout.COLUMN_COUNT - 1, BoardLayout.columnAt(x + CARD_WIDTH));
+        int best = Move.NONE;
+        int bestOverlap = 0;
+        for (int column = first; column <= last; column++) {
+            for (int row = 0; row < 2; row++) {
+                int target = row == 0 ? BoardLayout.topRowPile(column) : GameState.TABLEAU + column;
+                if (target == -1 || !(GameState.isFoundation(target) || GameState.isTableau(target))) {
+                    continue; // Atık ve stoğa kart bırakılmaz
                 }
-            } else {
-                // Başarılı bir şekilde bırakıldıysa, tableau destesinde altındaki kartı açma kontrolü yap
-                // Sadece tableau'dan kart alınmışsa ve geride bir kart kalmışsa.
-                if (originalSourcePile instanceof List && originalSourcePileIndex != -1) {
-                    List<Card> sourceTableau = tableauPiles.get(originalSourcePileIndex);
-                    if (!sourceTableau.isEmpty()) {
-                        Card topCardInSource = sourceTableau.get(sourceTableau.size() - 1);
-                        if (!topCardInSource.isFaceUp()) {
-                            topCardInSource.setFaceUp(true);
-                        }
+                // Kaynak destede yalnızca sürüklenmeyen kartlar yerinde durur
+                int visible = target == sourcePile ? startIndex : gameState.size(target);
+                int overlap = BoardLayout.dropOverlap(target, visible, x, y);
+                if (overlap > bestOverlap) {
+                    int move = Move.of(sourcePile, target, count);
+                    if (gameState.isLegal(move)) {
+                        best = move;
+                        bestOverlap = overlap;
                     }
                 }
             }
+        }
+        return best;
+    }
+
+    /**
+     * Hamle geçerliyse uygular, günlüğe yazar ve yalnızca etkilenen desteleri yeniden çizer.
+     *
+     * @return Hamle uygulandıysa true.
+     */
+    private boolean tryPlay(int move) {
+        if (!gameState.isLegal(move)) {
+            return false;
+        }
+        moveLog.apply(gameState, move);
+        repaintMove(move);
+        return true;
+    }
+
+    /**
+     * Son hamleyi geri alır. Dağıtım, otomatik bitirme veya sürükleme sırasında etkisizdir.
+     */
+    public void undo() {
+        if (!canEditMoves()) {
+            return;
+        }
+        finishAnimations();
+        int move = moveLog.undo(gameState);
+        if (move == Move.NONE) {
+            return;
+        }
+        // Kartlar hedef desteden kaynak desteye geri uçar; çekme ve geri dönüştürme anında olur
+        if (move != Move.DRAW && move != Move.RECYCLE) {
+            int to = Move.to(move);
+            flyCards(Move.from(move), Move.count(move), cardLocation(to, gameState.size(to)), UNDO_MOVE_DURATION, null);
+        }
+        repaintMove(move);
+    }
 
-            // Sürükleme değişkenlerini sıfırla
-            draggedCard = null;
-            draggedCardPile = null;
-            originalSourcePile = null;
-            originalSourcePileIndex = -1;
-            
-            // Oyun kazanılmadıysa yeniden çiz
-            if (!gameWon) {
-                repaint();
+    /**
+     * Geri alınan son hamleyi yeniden uygular.
+     */
+    public void redo() {
+        if (!canEditMoves()) {
+            return;
+        }
+        finishAnimations();
+        int move = moveLog.redo(gameState);
+        if (move == Move.NONE) {
+            return;
+        }
+        if (move != Move.DRAW && move != Move.RECYCLE) {
+            int from = Move.from(move);
+            flyCards(Move.to(move), Move.count(move), cardLocation(from, gameState.size(from)), UNDO_MOVE_DURATION, null);
+        }
+        repaintMove(move);
+        if (checkWinCondition()) {
+            handleWin();
+        } else if (gameState.canAutoComplete()) {
+            startAutoComplete();
+        }
+    }
+
+    private boolean canEditMoves() {
+        return isEnabled() && !dealingAnimationActive && !autoCompleteActive && !gameWon && dragSourcePile == -1;
+    }
+
+    /**
+     * Ctrl+Z geri alır, Ctrl+Y ve Ctrl+Shift+Z yineler.
+     */
+    private void installUndoKeys() {
+        InputMap inputMap = getInputMap(WHEN_IN_FOCUSED_WINDOW);
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK), "undo");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK), "redo");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK), "redo");
+        getActionMap().put("undo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                undo();
             }
+        });
+        getActionMap().put("redo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                redo();
+            }
+        });
+    }
+
+    /**
+     * Hamlenin kaynak ve hedef destelerini katmanda yeniler ve alanlarını yeniden çizer.
+     */
+    private void repaintMove(int move) {
+        repaintPile(Move.from(move));
+        repaintPile(Move.to(move));
+    }
+
+    /**
+     * Destenin çizildiği alan; tableau için sütunun paneldeki tüm yüksekliği.
+     * Boş yuva çerçevesi 2 piksel kalınlığında olduğundan kenarlar biraz genişletilir.
+     */
+    private Rectangle pileBounds(int pile) {
+        Point location = cardLocation(pile, 0);
+        int height = GameState.isTableau(pile) ? Math.max(CARD_HEIGHT, layout.getVisibleBoardHeight() - location.y) : CARD_HEIGHT;
+        return new Rectangle(location.x - 2, location.y - 2, CARD_WIDTH + 4, height + 4);
+    }
+
+    /**
+     * Bekleyen sürükleme konumunu kartlara uygular ve yalnızca kartların eski ve
+     * yeni konumlarını kapsayan alanı yeniden çizer.
+     */
+    private void flushDragFrame() {
+        if (dragSourcePile == -1 || pendingInputTime == 0) {
+            return;
         }
+        Rectangle dirty = dragBounds();
+        dragX = pendingDragX;
+        dragY = pendingDragY;
+        dirty.add(dragBounds());
+        layoutDraggedCards();
+        frameInputTime = pendingInputTime;
+        pendingInputTime = 0;
+        lastDragFrameTime = System.nanoTime();
+        repaintBoard(dirty);
     }
 
-    private class SolitaireMouseMotionListener extends MouseMotionAdapter {
+    /**
+     * Sürükleme sırasında, çizilen konumu getiren fare olayından o karenin
+     * çizilmesine kadar geçen sürelerin histogramı.
+     */
+    public LatencyHistogram getDragLatency() {
+        return dragLatency;
+    }
+
+    /**
+     * Tahtanın tek animasyon zamanlayıcısı; menünün belirmesi de bununla sürülür.
+     */
+    Animator getAnimator() {
+        return animator;
+    }
+
+    /**
+     * Animasyon karelerinde geçişlerin güncellenmesi ve çizime harcanan sürelerin histogramı.
+     */
+    public LatencyHistogram getAnimationFrameTime() {
+        return animator.getFrameTime();
+    }
+
+    /**
+     * @return Animasyon zamanlayıcısı geç kaldığı için hiç çizilmeyen kare sayısı.
+     */
+    public long getDroppedAnimationFrames() {
+        return animator.getDroppedFrames();
+    }
+
+    /**
+     * Toplanan sürükleme gecikmelerini ve animasyon kare sürelerini özetleyip sıfırlar.
+     */
+    private void logFrameStats() {
+        if (dragLatency.getCount() > 0) {
+            System.out.println(String.format("DEBUG: Sürükleme gecikmesi: %s, %%%.1f'i bir kareden kısa",
+                    dragLatency, dragLatency.fractionBelow(frameIntervalNanos) * 100));
+            System.out.print(dragLatency.toHistogramString());
+            dragLatency.reset();
+        }
+        LatencyHistogram frameTime = animator.getFrameTime();
+        if (frameTime.getCount() > 0) {
+            System.out.println(String.format("DEBUG: Animasyon kare süresi: %s, %d karede %d kare atlandı, %%%.1f'i süresinde",
+                    frameTime, animator.getFrameCount(), animator.getDroppedFrames(),
+                    frameTime.fractionBelow(frameIntervalNanos) * 100));
+            System.out.print(frameTime.toHistogramString());
+            animator.resetStats();
+        }
+        if (renderer != null) {
+            renderer.logFrameStats();
+        }
+    }
+
+    /**
+     * Sürüklenen kart dizisinin en son çizildiği alan.
+     */
+    private Rectangle dragBounds() {
+        int count = gameState.size(dragSourcePile) - dragStartIndex;
+        return new Rectangle(dragX - 2, dragY - 2, CARD_WIDTH + 4, CARD_HEIGHT + (count - 1) * CARD_OVERLAP_Y + 4);
+    }
+
+    /**
+     * @return Deste çizim alanı kirli bölgeyle kesişiyorsa (veya bölge yoksa) true.
+     */
+    private boolean isPileDirty(Rectangle clip, int pile) {
+        return clip == null || clip.intersects(pileBounds(pile));
+    }
+
+    /**
+     * Bir veya birkaç kartın bir noktadan destedeki yerine doğrusal uçuşu. Her
+     * karede yalnızca kartların eski ve yeni konumlarını kapsayan alan çizilir;
+     * kartlar indiğinde destelerinde yeniden görünür.
+     */
+    private final class CardFlight extends Animator.Tween {
+        private final int pile;
+        private final int[] cards; // Alttan üste kart kodları; kapalı kodlar arka yüzle çizilir
+        private final Point start;
+        private final Point end;
+        private final Runnable onLand;
+        private int x, y; // İlk kartın son hesaplanan sol üst köşesi
+
+        CardFlight(int pile, int[] cards, Point start, Point end, long delayNanos, long durationNanos, Runnable onLand) {
+            super(delayNanos, durationNanos);
+            this.pile = pile;
+            this.cards = cards;
+            this.start = start;
+            this.end = end;
+            this.onLand = onLand;
+            this.x = start.x;
+            this.y = start.y;
+        }
+
+        /**
+         * Kartları hareket eden kartlar arasına alır; uçuş başlayana kadar çizilmezler.
+         */
+        void lift() {
+            int last = cards.length - 1;
+            for (int i = 0; i <= last; i++) {
+                scene.lift(cards[i], nextFlightZ++, i == last ? CARD_HEIGHT : CARD_OVERLAP_Y);
+            }
+        }
+
         @Override
-        public void mouseDragged(MouseEvent e) {
-            // Oyun kazanıldıysa kart sürüklemeyi engelle
-            if (gameWon) return;
+        void update(double progress) {
+            Rectangle dirty = bounds();
+            x = (int) (start.x + (end.x - start.x) * progress);
+            y = (int) (start.y + (end.y - start.y) * progress);
+            dirty.add(bounds());
+            for (int i = 0; i < cards.length; i++) {
+                scene.move(cards[i], x, y + i * CARD_OVERLAP_Y);
+            }
+            repaintBoard(dirty);
+        }
 
-            if (draggedCard != null || draggedCardPile != null) {
-                repaint(); // Kartın yeni konumunu çizmek için sürekli yeniden çiz
+        @Override
+        void finish() {
+            inFlight[pile] -= cards.length;
+            repaintPile(pile);
+            if (onLand != null) {
+                onLand.run();
             }
         }
+
+        private Rectangle bounds() {
+            return new Rectangle(x - 2, y - 2, CARD_WIDTH + 4, CARD_HEIGHT + (cards.length - 1) * CARD_OVERLAP_Y + 4);
+        }
     }
-    
+
+    /**
+     * @return Geçerli dağıtımın tohumu; {@link #resetGame(long)} ile aynı dağıtım tekrar oynanabilir.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Mevcut oyunun bağımsız bir kopyasını döner. Çözücü gibi araçlar tahtayı
+     * değiştirmeden arka planda bu kopya üzerinde çalışabilir.
+     */
+    public GameState getGameStateCopy() {
+        return gameState.copy();
+    }
+
+    /**
+     * Mevcut oyun için yeni bir paralel çözücü oluşturur. Önceki çözücü iptal
+     * edilir; oyuncu yeni oyun başlattığında bu çözücü de iptal edilir.
+     */
+    public ParallelSolver createSolver(long nodeLimit, long timeLimitMillis) {
+        cancelSolver();
+        activeSolver = new ParallelSolver(nodeLimit, timeLimitMillis);
+        return activeSolver;
+    }
+
+    private void cancelSolver() {
+        if (activeSolver != null) {
+            activeSolver.cancel();
+            activeSolver = null;
+        }
+    }
+
+    /**
+     * @return Tahtanın görünümü her değiştiğinde artan sayaç; aynı değer aynı görüntü demektir.
+     */
+    public long getStateVersion() {
+        return stateVersion;
+    }
+
     public BufferedImage getBoardImage() {
+        return getBoardImage(null);
+    }
+
+    /**
+     * Tahtanın görüntüsünü verilen tampona çizer.
+     *
+     * Görüntü ekrandaki katmandan ve hareket eden kartlardan, katmanın ekran
+     * ölçeğinde kalınarak küçültülür; yerleşimin ölçeği değiştirilmez, böylece
+     * yüksek çözünürlüklü ekranlarda katman yeniden ayrılıp çizilmez.
+     *
+     * @param reuse Tahtayla aynı boyutta ARGB tampon verilirse yeni görüntü ayrılmaz; null olabilir.
+     * @return Çizilen görüntü; tampon uygunsa kendisi.
+     */
+    public BufferedImage getBoardImage(BufferedImage reuse) {
         // GameBoard'un mevcut boyutlarında bir BufferedImage oluştur
-        BufferedImage image = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_ARGB);
+        BufferedImage image = reuse;
+        if (image == null || image.getWidth() != getWidth() || image.getHeight() != getHeight()
+                || image.getType() != BufferedImage.TYPE_INT_ARGB) {
+            image = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_ARGB);
+        }
         Graphics2D g2d = image.createGraphics();
-        
-        // GameBoard'un kendisini bu BufferedImage'a çiz
-        // Bu, GameBoard üzerindeki tüm kartları ve arka planı içerir
-        this.paint(g2d); 
-        
-        g2d.dispose();
+        try {
+            synchronized (boardLayerLock) {
+                updateSprites();
+                if (!updateBoardLayer()) {
+                    return image;
+                }
+                // Katman ve kartlar aygıt pikselinde; tampon mantıksal boyutta
+                double deviceScale = layout.getDeviceScale();
+                if (deviceScale != 1) {
+                    g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                    g2d.scale(1 / deviceScale, 1 / deviceScale);
+                }
+                if (winTrail != null && winTrail.getWidth() == boardLayer.getWidth()
+                        && winTrail.getHeight() == boardLayer.getHeight()) {
+                    g2d.drawImage(winTrail, 0, 0, null);
+                } else {
+                    g2d.drawImage(boardLayer, 0, 0, null);
+                    paintNodes(g2d, null, true);
+                }
+            }
+        } finally {
+            g2d.dispose();
+        }
         return image;
     }
 }
\ No newline at end of file
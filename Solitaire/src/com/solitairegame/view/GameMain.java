@@ -5,16 +5,50 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.image.BufferedImage;
-import java.awt.image.ConvolveOp;
-import java.awt.image.Kernel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class GameMain extends JPanel {
 
+    public static final int BLUR_LEVELS = 3; // En bulanık seviye tahtanın 1/8'i boyutunda
+    private static final long FADE_DURATION = 250_000_000; // Menünün belirme süresi (ns)
+    private static final int OVERLAY_ALPHA = 120; // Tam belirdiğinde karartmanın opaklığı
+    private static final Color OVERLAY_COLOR = new Color(0, 0, 0, OVERLAY_ALPHA);
+
+    // Bulanıklık her açılışta yeni iş parçacığı yerine bu tek arka plan iş parçacığında hesaplanır
+    private static final ExecutorService BLUR_EXECUTOR = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "menu-blur");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private JFrame parentFrame;
     private GameBoard gameBoard;
 
     private boolean isMainMenuVisible = false;
-    private BufferedImage blurredBoardImage = null;
+
+    // Tahtanın görüntüsü, bulanıklığı ve karartılmış hali saklanır; tahta değişmeden
+    // menü yeniden açıldığında hiçbiri yeniden hesaplanmaz ve bellek ayrılmaz.
+    // Görüntü ve zincir hesaplanırken arka plan iş parçacığına aittir.
+    private BufferedImage boardSnapshot;
+    private final BlurPyramid blurredBoard = new BlurPyramid(BLUR_LEVELS);
+    private boolean blurPending; // Arka planda hesaplanıyor
+    private boolean blurReady; // Zincir çizilebilir; hazır olana kadar yalnızca karartma çizilir
+    private long blurVersion; // Zincirin hesaplandığı tahta sürümü
+    private int blurGeneration; // Her hesaplamada artar
+    private BufferedImage overlay; // Bulanık tahta ve karartma, panel boyutunda
+    private int overlayGeneration = -1;
+
+    private double fade; // 0 menü yeni açıldı, 1 tam belirdi
+    // Karartma ve bulanıklık birlikte artarak belirir; tahtanın animasyon zamanlayıcısıyla
+    // sürülür, kare temposu ve istatistikleri tahtadaki animasyonlarla ortaktır
+    private final Animator.Tween fadeIn = new Animator.Tween(0, FADE_DURATION) {
+        @Override
+        void update(double progress) {
+            fade = progress;
+            repaint();
+        }
+    };
 
     public GameMain(JFrame parentFrame, GameBoard gameBoard) {
         this.parentFrame = parentFrame;
@@ -86,6 +120,9 @@ public class GameMain extends JPanel {
                 JOptionPane.QUESTION_MESSAGE
             );
             if (response == JOptionPane.YES_OPTION) {
+                if (gameBoard != null) {
+                    gameBoard.saveGame(); // Yarıda kalan oyun bir sonraki açılışta devam etsin
+                }
                 System.exit(0);
             }
         });
@@ -100,22 +137,57 @@ public class GameMain extends JPanel {
         }
         if (gameBoard != null) {
              gameBoard.setEnabled(false);
-             new Thread(() -> {
-                 BufferedImage currentBoardImage = gameBoard.getBoardImage();
-                 if (currentBoardImage != null) {
-                     BufferedImage newBlurredImage = applyOptimizedBlur(currentBoardImage);
-                     SwingUtilities.invokeLater(() -> {
-                         if (isMainMenuVisible) {
-                             blurredBoardImage = newBlurredImage;
-                             repaint();
-                         }
-                     });
-                 }
-             }).start();
+             requestBlur();
+
+             Animator animator = gameBoard.getAnimator();
+             animator.cancel(fadeIn);
+             fade = 0;
+             animator.start(fadeIn);
+        } else {
+            fade = 1;
         }
         repaint();
     }
 
+    /**
+     * Tahta son bulanıklaştırmadan beri değiştiyse görüntüsünü olay iş
+     * parçacığında havuzdaki tampona alır ve zinciri arka planda yeniden hesaplatır.
+     */
+    private void requestBlur() {
+        int width = gameBoard.getWidth();
+        int height = gameBoard.getHeight();
+        if (blurPending || width <= 0 || height <= 0) {
+            return; // Hesaplama bitince tahtanın sürümü yeniden denetlenir
+        }
+        long version = gameBoard.getStateVersion();
+        if (blurReady && version == blurVersion
+                && width == boardSnapshot.getWidth() && height == boardSnapshot.getHeight()) {
+            return;
+        }
+        blurReady = false;
+        blurPending = true;
+        blurVersion = version;
+        boardSnapshot = gameBoard.getBoardImage(boardSnapshot);
+        BufferedImage snapshot = boardSnapshot;
+        BLUR_EXECUTOR.execute(() -> {
+            try {
+                blurredBoard.update(snapshot);
+            } finally {
+                SwingUtilities.invokeLater(this::blurFinished);
+            }
+        });
+    }
+
+    private void blurFinished() {
+        blurPending = false;
+        blurReady = true;
+        blurGeneration++;
+        if (isMainMenuVisible) {
+            requestBlur(); // Hesaplanırken tahta değiştiyse yenisi istenir
+            repaint();
+        }
+    }
+
     public void hideMainMenu() {
         isMainMenuVisible = false;
         setVisible(false);
@@ -124,10 +196,10 @@ public class GameMain extends JPanel {
             gameBoard.getMenuPanel().resumeTimer(); // <-- Düzeltme: startTimer() yerine resumeTimer() olmalı!
         }
         if (gameBoard != null) {
+            gameBoard.getAnimator().cancel(fadeIn);
             gameBoard.setEnabled(true);
             gameBoard.requestFocusInWindow();
         }
-        blurredBoardImage = null;
         repaint();
     }
 
@@ -135,54 +207,58 @@ public class GameMain extends JPanel {
         return isMainMenuVisible;
     }
 
-    private BufferedImage applyOptimizedBlur(BufferedImage image) {
-        if (image == null) {
-            return null;
+    /**
+     * Bulanık tahta ile karartmayı panel boyutunda tek görüntüde birleştirir;
+     * zincir veya boyut değişmedikçe saklanan görüntü kullanılır.
+     *
+     * @return Zincir henüz hazır değilse false.
+     */
+    private boolean updateOverlay(int width, int height) {
+        if (!blurReady || width <= 0 || height <= 0) {
+            return false;
         }
-
-        int blurRadius = 10;
-        int iterations = 2;
-
-        BufferedImage currentImage = image;
-        
-        for (int i = 0; i < iterations; i++) {
-            float[] vertKernel = new float[blurRadius * 2 + 1];
-            for (int j = 0; j < vertKernel.length; j++) {
-                vertKernel[j] = 1.0f / vertKernel.length;
-            }
-            Kernel verticalKernel = new Kernel(1, vertKernel.length, vertKernel);
-            ConvolveOp vertOp = new ConvolveOp(verticalKernel, ConvolveOp.EDGE_NO_OP, null);
-            BufferedImage tempImage = new BufferedImage(currentImage.getWidth(), currentImage.getHeight(), currentImage.getType());
-            vertOp.filter(currentImage, tempImage);
-            currentImage = tempImage;
-
-            float[] horzKernel = new float[blurRadius * 2 + 1];
-            for (int j = 0; j < horzKernel.length; j++) {
-                horzKernel[j] = 1.0f / horzKernel.length;
-            }
-            Kernel horizontalKernel = new Kernel(horzKernel.length, 1, horzKernel);
-            ConvolveOp horzOp = new ConvolveOp(horizontalKernel, ConvolveOp.EDGE_NO_OP, null);
-            tempImage = new BufferedImage(currentImage.getWidth(), currentImage.getHeight(), currentImage.getType());
-            horzOp.filter(currentImage, tempImage);
-            currentImage = tempImage;
+        if (overlay != null && overlayGeneration == blurGeneration
+                && overlay.getWidth() == width && overlay.getHeight() == height) {
+            return true;
         }
-
-        return currentImage;
+        if (overlay == null || overlay.getWidth() != width || overlay.getHeight() != height) {
+            GraphicsConfiguration configuration = getGraphicsConfiguration();
+            overlay = configuration != null
+                    ? configuration.createCompatibleImage(width, height)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics2D g2d = overlay.createGraphics();
+        blurredBoard.paint(g2d, width, height, 1);
+        g2d.setColor(OVERLAY_COLOR);
+        g2d.fillRect(0, 0, width, height);
+        g2d.dispose();
+        overlayGeneration = blurGeneration;
+        return true;
     }
 
     @Override
     protected void paintComponent(Graphics g) {
+        long paintStart = System.nanoTime();
         Graphics2D g2d = (Graphics2D) g.create();
 
-        if (blurredBoardImage != null) {
-            g2d.drawImage(blurredBoardImage, 0, 0, getWidth(), getHeight(), null);
+        if (fade >= 1 && updateOverlay(getWidth(), getHeight())) {
+            // Tam belirmiş menü: hazır görüntü ölçeklenmeden tek kopyalamayla
+            g2d.drawImage(overlay, 0, 0, null);
+        } else {
+            if (blurReady) {
+                blurredBoard.paint(g2d, getWidth(), getHeight(), fade);
+            }
+            g2d.setColor(new Color(0, 0, 0, (int) Math.round(OVERLAY_ALPHA * fade)));
+            g2d.fillRect(0, 0, getWidth(), getHeight());
         }
 
-        g2d.setColor(new Color(0, 0, 0, 120));
-        g2d.fillRect(0, 0, getWidth(), getHeight());
-
         g2d.dispose();
 
         super.paintComponent(g);
+
+        // Belirme karesinin süresine çizim de dahildir
+        if (fadeIn.isRunning() && SwingUtilities.isEventDispatchThread()) {
+            gameBoard.getAnimator().addPaintTime(System.nanoTime() - paintStart);
+        }
     }
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package com.solitairegame.view;
 
 import javax.swing.*;
 
+import com.solitairegame.model.GameState;
+import com.solitairegame.model.ParallelSolver;
+import com.solitairegame.model.Solver;
 import com.solitairegame.solitaireapp.SolitaireApp;
 
 import java.awt.*;
@@ -17,6 +20,13 @@ public class GameMenuPanel extends JPanel {
     private JButton mainMenuButton;
     private JButton settingsButton;
     private JButton aboutButton;
+    private JButton solveButton;
+    private JButton undoButton;
+    private JButton redoButton;
+
+    // Çözücü menüden çağrıldığında oyuncuyu bekletmemesi için bütçe sınırları
+    private static final long SOLVER_NODE_LIMIT = 2_000_000;
+    private static final long SOLVER_TIME_LIMIT_MS = 5_000;
 
     private Timer gameTimer;
     private long startTime;
@@ -51,6 +61,9 @@ public class GameMenuPanel extends JPanel {
         mainMenuButton = createMenuButton("Ana Menü");
         settingsButton = createMenuButton("Ayarlar");
         aboutButton = createMenuButton("Hakkında");
+        solveButton = createMenuButton("Çözücü");
+        undoButton = createMenuButton("Geri Al");
+        redoButton = createMenuButton("Yinele");
 
         add(mainMenuButton);
         add(Box.createRigidArea(new Dimension(0, 10)));
@@ -58,6 +71,12 @@ public class GameMenuPanel extends JPanel {
         add(Box.createRigidArea(new Dimension(0, 10)));
         add(aboutButton);
         add(Box.createRigidArea(new Dimension(0, 10)));
+        add(solveButton);
+        add(Box.createRigidArea(new Dimension(0, 10)));
+        add(undoButton);
+        add(Box.createRigidArea(new Dimension(0, 10)));
+        add(redoButton);
+        add(Box.createRigidArea(new Dimension(0, 10)));
 
         add(Box.createVerticalGlue());
 
@@ -113,6 +132,74 @@ public class GameMenuPanel extends JPanel {
                                               JOptionPane.INFORMATION_MESSAGE);
             }
         });
+
+        solveButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                System.out.println("GameMenuPanel: Çözücü Butonuna basıldı.");
+                solveCurrentGame();
+            }
+        });
+
+        undoButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gameBoard.undo();
+            }
+        });
+
+        redoButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gameBoard.redo();
+            }
+        });
+    }
+
+    /**
+     * Oyun duraklatıldığında geri al/yinele düğmelerini kapatır; duraklatma
+     * menüsü yalnızca tahtayı örttüğü için düğmeler aksi halde tıklanabilir kalır.
+     */
+    public void setMoveEditingEnabled(boolean enabled) {
+        undoButton.setEnabled(enabled);
+        redoButton.setEnabled(enabled);
+    }
+
+    /**
+     * Mevcut dağıtımın kazanılabilir olup olmadığını arka planda çözücüyle
+     * kontrol eder ve sonucu oyuncuya gösterir.
+     */
+    private void solveCurrentGame() {
+        solveButton.setEnabled(false);
+        final GameState state = gameBoard.getGameStateCopy();
+        final ParallelSolver solver = gameBoard.createSolver(SOLVER_NODE_LIMIT, SOLVER_TIME_LIMIT_MS);
+        new SwingWorker<Solver.Result, Void>() {
+            @Override
+            protected Solver.Result doInBackground() {
+                return solver.solve(state);
+            }
+
+            @Override
+            protected void done() {
+                solveButton.setEnabled(true);
+                try {
+                    Solver.Result result = get();
+                    System.out.println("GameMenuPanel: Çözücü sonucu: " + result);
+                    if (result.getOutcome() == Solver.Outcome.CANCELLED) {
+                        return; // Yeni oyun başladı, eski dağıtımın sonucu artık anlamsız
+                    }
+                    String message;
+                    switch (result.getOutcome()) {
+                        case SOLVED: message = "Bu oyun kazanılabilir! Çözüm " + result.getMoves().length + " hamle."; break;
+                        case UNWINNABLE: message = "Bu oyun artık kazanılamaz."; break;
+                        default: message = "Çözücü süre sınırı içinde karar veremedi."; break;
+                    }
+                    JOptionPane.showMessageDialog(parentFrame, message, "Çözücü", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    System.err.println("GameMenuPanel: Çözücü çalışırken hata oluştu: " + ex.getMessage());
+                }
+            }
+        }.execute();
     }
 
     public void pauseTimer() {
@@ -176,6 +263,23 @@ public class GameMenuPanel extends JPanel {
         System.out.println("GameMenuPanel: Yeni timer başlatıldı (startTimer sonrası)."); 
     }
 
+    /**
+     * Kayıttan dönülen oyun için zamanlayıcıyı kaldığı süreden başlatır.
+     */
+    public void resumeTimerFrom(long elapsedMillis) {
+        startTimer();
+        startTime = System.currentTimeMillis() - elapsedMillis;
+        long elapsedSeconds = elapsedMillis / 1000;
+        timerLabel.setText(String.format("%02d:%02d", elapsedSeconds / 60, elapsedSeconds % 60));
+    }
+
+    /**
+     * @return Oyunda geçen süre; duraklatılmışsa duraklatıldığı andaki süre.
+     */
+    public long getElapsedMillis() {
+        return timerRunning ? System.currentTimeMillis() - startTime : pausedTime;
+    }
+
     public void stopTimer() {
         System.out.println("GameMenuPanel: stopTimer() çağrıldı."); 
         timerRunning = false;
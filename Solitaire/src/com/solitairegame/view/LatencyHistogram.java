@@ -0,0 +1,92 @@
+package com.solitairegame.view;
+
+import java.util.Arrays;
+
+/**
+ * Girdi ile ekrana çizim arasındaki gecikmeleri sabit aralıklı kovalarda
+ * toplayan histogram. Kayıt ayırma yapmaz; yalnızca olay iş parçacığından
+ * kullanılmak üzere tasarlanmıştır.
+ */
+public final class LatencyHistogram {
+
+    private static final long BUCKET_NANOS = 250_000; // 0,25 ms
+    private static final int BUCKETS = 400; // 100 ms'ye kadar; üstü son kovaya düşer
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long maxNanos;
+
+    public void record(long nanos) {
+        int bucket = (int) Math.min(BUCKETS - 1, Math.max(0, nanos) / BUCKET_NANOS);
+        counts[bucket]++;
+        total++;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * @param percentile 0 ile 100 arası.
+     * @return Kaydedilen gecikmelerin verilen yüzdeliği (ms, kova üst sınırı).
+     */
+    public double percentileMillis(double percentile) {
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return (i + 1) * BUCKET_NANOS / 1e6;
+            }
+        }
+        return 0;
+    }
+
+    public double maxMillis() {
+        return maxNanos / 1e6;
+    }
+
+    /**
+     * @return Gecikmesi verilen süreden kısa olan kayıtların oranı (0..1).
+     */
+    public double fractionBelow(long nanos) {
+        long below = 0;
+        for (int i = 0; i < BUCKETS && (i + 1) * BUCKET_NANOS <= nanos; i++) {
+            below += counts[i];
+        }
+        return total == 0 ? 0 : (double) below / total;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        maxNanos = 0;
+    }
+
+    /**
+     * Kova kova metin histogramı; boş kovalar atlanır.
+     */
+    public String toHistogramString() {
+        StringBuilder text = new StringBuilder();
+        long max = 1;
+        for (long count : counts) {
+            max = Math.max(max, count);
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            String range = i == BUCKETS - 1 ? String.format("%.2f+ ms", i * BUCKET_NANOS / 1e6)
+                    : String.format("%.2f-%.2f ms", i * BUCKET_NANOS / 1e6, (i + 1) * BUCKET_NANOS / 1e6);
+            text.append(String.format("%16s %8d %s%n", range, counts[i], "#".repeat((int) Math.max(1, counts[i] * 40 / max))));
+        }
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d kare, p50 %.2f ms, p99 %.2f ms, en çok %.2f ms",
+                total, percentileMillis(50), percentileMillis(99), maxMillis());
+    }
+}
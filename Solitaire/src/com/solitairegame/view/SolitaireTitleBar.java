@@ -198,6 +198,7 @@ public class SolitaireTitleBar extends JPanel { // Sınıf adını koruduk
 			JOptionPane.QUESTION_MESSAGE
 		);
 		if (response == JOptionPane.YES_OPTION) {
+			ownerFrame.getGameBoard().saveGame(); // Yarıda kalan oyun bir sonraki açılışta devam etsin
 			System.exit(0);
 		}
 	}
@@ -222,6 +223,7 @@ public class SolitaireTitleBar extends JPanel { // Sınıf adını koruduk
 			Rectangle screenBounds = GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
 			ownerFrame.setBounds(screenBounds);
 		}
+		ownerFrame.validate(); // Tahta yeni boyuta göre yerleşsin
 		frameIsMaximized = !frameIsMaximized;
 	}
 
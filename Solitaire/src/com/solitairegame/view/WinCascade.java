@@ -0,0 +1,187 @@
+package com.solitairegame.view;
+
+import com.solitairegame.model.Card;
+import com.solitairegame.model.GameState;
+import com.solitairegame.model.RandomSource;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+/**
+ * Kazanma kutlaması: kartlar hedef destelerden sırayla fırlar, yerçekimiyle
+ * zıplayarak ekranın yanından çıkar ve arkasında iz bırakır.
+ *
+ * İzler hiç silinmeyen, aygıt çözünürlüğündeki bir görüntüde birikir. Her fizik
+ * adımında yalnızca havadaki kartlar bu görüntüye bir kez basılır ve panelde
+ * yalnızca basılan bölge yeniden çizilir; karenin maliyeti iz sayısından ve
+ * pencere boyutundan bağımsızdır. Fizik sabit 60 Hz adımlarla ilerler,
+ * zamanlayıcının kaçırdığı adımlar da basılır ve iz kesintisiz kalır. Kartların
+ * yörüngesi başta belirlendiği için kutlamanın süresi önceden bilinir.
+ */
+final class WinCascade extends Animator.Tween {
+
+    private static final long STEP_NANOS = 1_000_000_000L / 60;
+    private static final int LAUNCH_STEPS = 20; // İki kartın fırlaması arasındaki adım
+    private static final double GRAVITY = 0.6; // Tahta birimi / adım²
+    private static final double BOUNCE = 0.75; // Zemine çarpınca korunan dikey hız oranı
+    private static final int EDGE = 2; // Kart görüntüsünün gölge ve kenar payı
+
+    private final BoardLayout layout;
+    private final CardSprites sprites;
+    private final BufferedImage trail;
+    private final Consumer<Rectangle> repaint; // Tahta koordinatlarında basılan bölge
+    private final Runnable onDone;
+    private final int[] codes; // Fırlama sırasına göre
+    private final int[] foundations; // Kartın çıktığı hedef (0-3)
+    private final int[] below; // Kart kalkınca hedefte görünen kart veya Card.NONE
+    private final int[] ends; // Kartın ekrandan çıktığı adım
+    private final double[] x, y, vx, vy;
+    private final int floor;
+    private final int steps; // Son kartın ekrandan çıktığı adım
+    private final Rectangle stamped = new Rectangle();
+    private final Rectangle dirty = new Rectangle();
+    private int step;
+
+    private WinCascade(BoardLayout layout, CardSprites sprites, BufferedImage trail,
+                       Consumer<Rectangle> repaint, Runnable onDone, int[] codes, int[] foundations,
+                       int[] below, int[] ends, double[] vx, double[] vy, int floor, int steps) {
+        super(0, steps * STEP_NANOS);
+        this.layout = layout;
+        this.sprites = sprites;
+        this.trail = trail;
+        this.repaint = repaint;
+        this.onDone = onDone;
+        this.codes = codes;
+        this.foundations = foundations;
+        this.below = below;
+        this.ends = ends;
+        this.vx = vx;
+        this.vy = vy;
+        this.floor = floor;
+        this.steps = steps;
+        x = new double[codes.length];
+        y = new double[codes.length];
+    }
+
+    /**
+     * Kazanılmış oyunun hedef destelerinden kutlamayı hazırlar. Kartlar en üstten
+     * başlayarak dört desteden sırayla fırlar.
+     *
+     * @param trail  Tahtanın o anki görüntüsüyle başlatılmış iz görüntüsü; kutlama boyunca hiç silinmez.
+     * @param onDone Kutlama kendiliğinden bittiğinde çağrılır.
+     */
+    static WinCascade create(GameState state, BoardLayout layout, CardSprites sprites, BufferedImage trail,
+                             RandomSource random, Consumer<Rectangle> repaint, Runnable onDone) {
+        int count = 0;
+        for (int f = 0; f < GameState.FOUNDATION_COUNT; f++) {
+            count += state.size(GameState.FOUNDATION + f);
+        }
+        int[] codes = new int[count];
+        int[] foundations = new int[count];
+        int[] below = new int[count];
+        int[] ends = new int[count];
+        double[] vx = new double[count];
+        double[] vy = new double[count];
+
+        Rectangle area = layout.getVisibleBoardBounds();
+        int left = area.x;
+        int right = area.x + area.width;
+        int floor = area.y + area.height - 1 - BoardLayout.CARD_HEIGHT;
+        int steps = 0;
+        int n = 0;
+        for (int index = Card.KING; index >= Card.ACE; index--) {
+            for (int f = 0; f < GameState.FOUNDATION_COUNT; f++) {
+                int pile = GameState.FOUNDATION + f;
+                if (index >= state.size(pile)) {
+                    continue;
+                }
+                codes[n] = state.card(pile, index);
+                foundations[n] = f;
+                below[n] = index > 0 ? state.card(pile, index - 1) : Card.NONE;
+                // Yatay hız sıfır olamaz; her kart er geç yandan çıkar
+                double speed = 2 + random.nextInt(50) / 10.0;
+                vx[n] = random.nextInt(2) == 0 ? -speed : speed;
+                vy[n] = -random.nextInt(80) / 10.0;
+                // Yatay hareket düzgün olduğundan çıkış adımı fizikten bağımsız hesaplanır
+                int startX = BoardLayout.cardX(pile);
+                double distance = vx[n] > 0 ? right - startX : startX + BoardLayout.CARD_WIDTH - left;
+                ends[n] = n * LAUNCH_STEPS + (int) (distance / Math.abs(vx[n])) + 2;
+                steps = Math.max(steps, ends[n]);
+                n++;
+            }
+        }
+        return new WinCascade(layout, sprites, trail, repaint, onDone, codes, foundations, below, ends,
+                vx, vy, floor, steps);
+    }
+
+    @Override
+    void update(double progress) {
+        int target = (int) Math.min(steps, (long) (progress * steps) + 1);
+        if (step >= target) {
+            return;
+        }
+        dirty.setBounds(0, 0, 0, 0);
+        Graphics2D g2d = trail.createGraphics();
+        try {
+            for (; step < target; step++) {
+                advance(g2d);
+            }
+        } finally {
+            g2d.dispose();
+        }
+        if (!dirty.isEmpty()) {
+            repaint.accept(dirty);
+        }
+    }
+
+    @Override
+    void finish() {
+        onDone.run();
+    }
+
+    /**
+     * Havadaki kartları bir adım ilerletip iz görüntüsüne basar.
+     */
+    private void advance(Graphics2D g2d) {
+        int last = Math.min(codes.length - 1, step / LAUNCH_STEPS);
+        for (int i = 0; i <= last; i++) {
+            int local = step - i * LAUNCH_STEPS;
+            if (local < 0 || step >= ends[i]) {
+                continue;
+            }
+            if (local == 0) {
+                // Kart kalkınca altındaki kart (veya boş yuva) görünür
+                int pile = GameState.FOUNDATION + foundations[i];
+                x[i] = BoardLayout.cardX(pile);
+                y[i] = BoardLayout.cardY(pile, 0);
+                int deviceX = layout.deviceX((int) x[i]);
+                int deviceY = layout.deviceY((int) y[i]);
+                if (below[i] != Card.NONE) {
+                    sprites.drawCard(g2d, below[i], deviceX, deviceY);
+                } else {
+                    sprites.drawFoundationSlot(g2d, foundations[i], deviceX, deviceY);
+                }
+            } else {
+                x[i] += vx[i];
+                vy[i] += GRAVITY;
+                y[i] += vy[i];
+                if (y[i] > floor) {
+                    y[i] = floor;
+                    vy[i] = -vy[i] * BOUNCE;
+                }
+            }
+            int cardX = (int) Math.round(x[i]);
+            int cardY = (int) Math.round(y[i]);
+            sprites.drawCard(g2d, codes[i], layout.deviceX(cardX), layout.deviceY(cardY));
+            stamped.setBounds(cardX - EDGE, cardY - EDGE,
+                    BoardLayout.CARD_WIDTH + 2 * EDGE, BoardLayout.CARD_HEIGHT + 2 * EDGE);
+            if (dirty.isEmpty()) {
+                dirty.setBounds(stamped);
+            } else {
+                dirty.add(stamped);
+            }
+        }
+    }
+}
@@ -6,4 +6,8 @@
  */
 module Solitaire {
 	requires java.desktop;
+
+	// Kıyaslama modülü (Solitaire.benchmark) motoru ve tahtayı doğrudan ölçer
+	exports com.solitairegame.model;
+	exports com.solitairegame.view;
 }
\ No newline at end of file